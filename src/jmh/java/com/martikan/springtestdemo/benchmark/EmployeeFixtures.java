@@ -0,0 +1,54 @@
+package com.martikan.springtestdemo.benchmark;
+
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class EmployeeFixtures {
+
+    static final int PAGE_SIZE = 25;
+
+    private EmployeeFixtures() {
+    }
+
+    static Employee employee(final long id) {
+        final var employee = new Employee();
+        employee.setId(id);
+        employee.setFirstName("First" + id);
+        employee.setLastName("Last" + id);
+        employee.setEmail("employee" + id + "@gmail.com");
+        employee.setActive(id % 2 == 0);
+        employee.setCreatedAt(ZonedDateTime.now());
+        employee.setUpdatedAt(ZonedDateTime.now());
+        return employee;
+    }
+
+    static EmployeeDTO employeeDTO(final long id) {
+        final var dto = new EmployeeDTO();
+        dto.setId(id);
+        dto.setFirstName("First" + id);
+        dto.setLastName("Last" + id);
+        dto.setEmail("employee" + id + "@gmail.com");
+        dto.setActive(id % 2 == 0);
+        return dto;
+    }
+
+    static List<Employee> employees(final int size) {
+        final var employees = new ArrayList<Employee>(size);
+        for (long id = 1; id <= size; id++) {
+            employees.add(employee(id));
+        }
+        return employees;
+    }
+
+    static List<EmployeeDTO> employeeDTOs(final int size) {
+        final var dtos = new ArrayList<EmployeeDTO>(size);
+        for (long id = 1; id <= size; id++) {
+            dtos.add(employeeDTO(id));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,37 @@
+package com.martikan.springtestdemo.benchmark;
+
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.mapper.EmployeeMapper;
+import com.martikan.springtestdemo.mapper.EmployeeMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class EmployeeMapperBenchmark {
+
+    private EmployeeMapper mapper;
+
+    private Employee employee;
+
+    private EmployeeDTO employeeDTO;
+
+    @Setup
+    public void setup() {
+        mapper = new EmployeeMapperImpl();
+        employee = EmployeeFixtures.employee(1L);
+        employeeDTO = EmployeeFixtures.employeeDTO(1L);
+    }
+
+    @Benchmark
+    public EmployeeDTO toDTO() {
+        return mapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public Employee toEntity() {
+        return mapper.toEntity(employeeDTO);
+    }
+}
@@ -0,0 +1,100 @@
+package com.martikan.springtestdemo.benchmark;
+
+import com.martikan.springtestdemo.SpringTestDemoApplication;
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.mapper.EmployeeMapper;
+import com.martikan.springtestdemo.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a page of employees the way the list endpoint did, loading entities and mapping them,
+ * and the way it does now, selecting straight into DTOs. Both read the same page with the same query shape and
+ * without a count query. Runs against PostgreSQL in a Testcontainer (requires Docker), compare
+ * {@code gc.alloc.rate.norm} of the two benchmarks for the allocation per page.
+ */
+@State(Scope.Benchmark)
+public class EmployeeReadBenchmark {
+
+    private static final int EMPLOYEES = 1000;
+
+    private PostgreSQLContainer<?> postgres;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeMapper mapper;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        postgres = new PostgreSQLContainer<>("postgres:15");
+        postgres.start();
+        context = new SpringApplicationBuilder(SpringTestDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword());
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        mapper = context.getBean(EmployeeMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        pageable = PageRequest.of(1, EmployeeFixtures.PAGE_SIZE, Sort.by("id"));
+
+        final var employees = new ArrayList<Employee>(EMPLOYEES);
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            final var employee = EmployeeFixtures.employee(id);
+            employee.setId(null);
+            employees.add(employee);
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> entityPage() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("from Employee e order by e.id", Employee.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList()
+                .stream()
+                .map(mapper::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> projectionPage() {
+        return readOnlyTransaction.execute(status -> employeeRepository.findAllDTOs(null, pageable));
+    }
+}
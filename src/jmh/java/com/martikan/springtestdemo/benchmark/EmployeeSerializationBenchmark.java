@@ -0,0 +1,74 @@
+package com.martikan.springtestdemo.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.mapper.EmployeeProtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Serialization of a default sized page of the list endpoint in each response format.
+ */
+@State(Scope.Benchmark)
+public class EmployeeSerializationBenchmark {
+
+    private static final TypeReference<List<EmployeeDTO>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    private ObjectWriter writer;
+
+    private ObjectWriter cborWriter;
+
+    private ObjectWriter smileWriter;
+
+    private List<EmployeeDTO> page;
+
+    @Setup
+    public void setup() {
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .build()
+                .writerFor(PAGE_TYPE);
+        cborWriter = CBORMapper.builder()
+                .findAndAddModules()
+                .build()
+                .writerFor(PAGE_TYPE);
+        smileWriter = SmileMapper.builder()
+                .findAndAddModules()
+                .build()
+                .writerFor(PAGE_TYPE);
+        page = EmployeeFixtures.employeeDTOs(EmployeeFixtures.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializePageCbor() throws JsonProcessingException {
+        return cborWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializePageSmile() throws JsonProcessingException {
+        return smileWriter.writeValueAsBytes(page);
+    }
+
+    /**
+     * Includes the mapping to the generated messages, as the response converter does.
+     */
+    @Benchmark
+    public byte[] serializePageProtobuf() {
+        return EmployeeProtoMapper.toProto(page).toByteArray();
+    }
+}
@@ -0,0 +1,70 @@
+package com.martikan.springtestdemo.benchmark;
+
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
+import com.martikan.springtestdemo.mapper.EmployeeMapperImpl;
+import com.martikan.springtestdemo.repository.EmployeeRepository;
+import com.martikan.springtestdemo.service.EmployeeService;
+import com.martikan.springtestdemo.service.EmployeeServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Per-request cost of the service layer, with the database replaced by in-memory rows. Lists are selected straight
+ * into DTOs, so only the export still maps entities with MapStruct.
+ */
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    private EmployeeService employeeService;
+
+    private EmployeeFilterDTO filter;
+
+    private Pageable pageable;
+
+    @Setup
+    public void setup() {
+        filter = new EmployeeFilterDTO();
+        pageable = PageRequest.ofSize(EmployeeFixtures.PAGE_SIZE);
+        final var page = EmployeeFixtures.employeeDTOs(EmployeeFixtures.PAGE_SIZE);
+        final List<Employee> employees = EmployeeFixtures.employees(EmployeeFixtures.PAGE_SIZE);
+        final var repository = (EmployeeRepository) Proxy.newProxyInstance(
+                EmployeeRepository.class.getClassLoader(),
+                new Class<?>[]{EmployeeRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllDTOs" -> page;
+                    case "streamAll" -> employees.stream();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        // Nothing to detach without a persistence context
+        final var entityManager = (EntityManager) Proxy.newProxyInstance(
+                EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class},
+                (proxy, method, args) -> null);
+        employeeService = new EmployeeServiceImpl(repository, new EmployeeMapperImpl(), entityManager, null, null,
+                null, null);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> getAllEmployees() {
+        return employeeService.getAllEmployees(filter, pageable);
+    }
+
+    /**
+     * A page worth of entities mapped to DTOs, as the NDJSON export does per row.
+     */
+    @Benchmark
+    public void exportEmployees(final Blackhole blackhole) {
+        employeeService.exportEmployees(blackhole::consume);
+    }
+}
@@ -0,0 +1,51 @@
+package com.martikan.springtestdemo.benchmark;
+
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Set;
+
+@State(Scope.Benchmark)
+public class EmployeeValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private EmployeeDTO validEmployee;
+
+    private EmployeeDTO invalidEmployee;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validEmployee = EmployeeFixtures.employeeDTO(1L);
+        invalidEmployee = EmployeeFixtures.employeeDTO(2L);
+        invalidEmployee.setFirstName(null);
+        invalidEmployee.setEmail("not-an-email");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeDTO>> validateValidEmployee() {
+        return validator.validate(validEmployee);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeDTO>> validateInvalidEmployee() {
+        return validator.validate(invalidEmployee);
+    }
+}
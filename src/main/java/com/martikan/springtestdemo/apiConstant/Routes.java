@@ -4,4 +4,8 @@ public class Routes {
     private static final String BASE_PATH = "/api";
 
     public static final String EMPLOYEE_V1_PATH = BASE_PATH + "/v1/employees";
+
+    public static final String CHANGES_V1_PATH = BASE_PATH + "/v1/changes";
+
+    public static final String UPDATE_JOBS_V1_PATH = BASE_PATH + "/v1/employee-update-jobs";
 }
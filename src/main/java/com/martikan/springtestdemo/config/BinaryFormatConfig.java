@@ -0,0 +1,43 @@
+package com.martikan.springtestdemo.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary response formats for service-to-service callers, chosen by the {@code Accept} header: protobuf for the
+ * employee responses, CBOR and Smile for every response. They are appended after the JSON converter, so JSON stays
+ * the default for requests accepting any type.
+ */
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        // Spring's defaults use a plain mapper, these get the application's Jackson settings
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new EmployeeProtobufHttpMessageConverter());
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.getObject()
+                .factory(new CBORFactory())
+                .build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.getObject()
+                .factory(new SmileFactory())
+                .build()));
+    }
+
+}
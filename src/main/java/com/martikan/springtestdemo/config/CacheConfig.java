@@ -0,0 +1,38 @@
+package com.martikan.springtestdemo.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process Caffeine caches, size and expiry are configured by {@code spring.cache.caffeine.spec}.
+ * Hit, miss and eviction metrics are bound to the Micrometer registry by Spring Boot.
+ */
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String EMPLOYEES_CACHE = "employees";
+
+    /**
+     * Defers puts and evictions made in a transaction until it has committed, so a concurrent read can't cache
+     * the rows it is about to replace and a rolled back write never reaches the cache.
+     */
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof CacheManager cacheManager
+                        && !(bean instanceof TransactionAwareCacheManagerProxy)) {
+                    return new TransactionAwareCacheManagerProxy(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.martikan.springtestdemo.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Reads the rows of {@code @Cacheable} methods from the primary, see {@link ReadOnlyRoutingDataSource}.
+ */
+@Aspect
+class CacheLoadRoutingAspect {
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+    public Object readFromPrimary(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final var previous = ReadOnlyRoutingDataSource.setPrimaryReads(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadOnlyRoutingDataSource.setPrimaryReads(previous);
+        }
+    }
+}
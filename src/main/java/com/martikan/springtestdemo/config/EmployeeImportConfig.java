@@ -0,0 +1,51 @@
+package com.martikan.springtestdemo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * The bounded pool validating the chunks of CSV imports, shared by all imports, see
+ * {@code EmployeeImportServiceImpl}.
+ */
+@EnableConfigurationProperties(EmployeeImportProperties.class)
+@Configuration
+public class EmployeeImportConfig {
+
+    public static final String IMPORT_EXECUTOR = "employeeImportExecutor";
+
+    @Bean(name = IMPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor employeeImportExecutor(final EmployeeImportProperties properties) {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getWorkers());
+        executor.setMaxPoolSize(properties.getWorkers());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("employee-import-");
+        // Back-pressure instead of a failed import
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Spring Boot only creates its application task executor when there is no other executor bean, so it is
+     * declared here the way Boot would. With virtual threads {@link VirtualThreadConfig} declares it.
+     */
+    @Lazy
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    @ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "false", matchIfMissing = true)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(final TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.martikan.springtestdemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CSV imports, see {@link EmployeeImportConfig}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.import")
+public class EmployeeImportProperties {
+
+    /**
+     * Number of threads validating chunks, shared by all running imports.
+     */
+    private int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    /**
+     * Number of chunks waiting for a validator. When it is full, an import validates its next chunk itself,
+     * which slows its reading down.
+     */
+    private int queueCapacity = 50;
+}
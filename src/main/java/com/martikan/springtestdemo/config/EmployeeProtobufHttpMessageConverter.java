@@ -0,0 +1,105 @@
+package com.martikan.springtestdemo.config;
+
+import com.google.protobuf.Message;
+import com.martikan.springtestdemo.dto.CursorPageDTO;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.mapper.EmployeeProtoMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes the employee responses as {@code application/x-protobuf}: an {@link EmployeeDTO} as {@code Employee},
+ * a list of them as {@code EmployeeList} and a cursor page as {@code EmployeePage}, see {@code employee.proto}.
+ * Requests are JSON only.
+ */
+public class EmployeeProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public EmployeeProtobufHttpMessageConverter() {
+        super(ProtobufHttpMessageConverter.PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return EmployeeDTO.class == clazz;
+    }
+
+    /**
+     * The element type of a list or page is only known from the declared return type.
+     */
+    @Override
+    public boolean canWrite(final Type type, final Class<?> clazz, final MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+
+        final var resolvable = ResolvableType.forType(type != null ? type : clazz);
+        final var raw = resolvable.resolve();
+        if (raw == null) {
+            return false;
+        }
+        if (List.class.isAssignableFrom(raw)) {
+            return EmployeeDTO.class == resolvable.as(List.class).getGeneric(0).resolve();
+        }
+        if (CursorPageDTO.class.isAssignableFrom(raw)) {
+            return EmployeeDTO.class == resolvable.as(CursorPageDTO.class).getGeneric(0).resolve();
+        }
+        return EmployeeDTO.class == raw;
+    }
+
+    /**
+     * Asked for the producible media types with the raw class of the body, once {@link #canWrite(Type, Class,
+     * MediaType)} has accepted its declared type. {@link #supports(Class)} would only accept a single employee.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(final Class<?> clazz) {
+        if (supports(clazz) || List.class.isAssignableFrom(clazz) || CursorPageDTO.class.isAssignableFrom(clazz)) {
+            return getSupportedMediaTypes();
+        }
+        return List.of();
+    }
+
+    @Override
+    public boolean canRead(final Type type, final Class<?> contextClass, final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(final Object body, final Type type, final HttpOutputMessage outputMessage)
+            throws IOException {
+        final Message message;
+        if (body instanceof EmployeeDTO dto) {
+            message = EmployeeProtoMapper.toProto(dto);
+        } else if (body instanceof CursorPageDTO<?> page) {
+            message = EmployeeProtoMapper.toProto((CursorPageDTO<EmployeeDTO>) page);
+        } else {
+            message = EmployeeProtoMapper.toProto((List<EmployeeDTO>) body);
+        }
+        message.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(final Type type, final Class<?> contextClass, final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf requests are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(final Class<?> clazz, final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf requests are not supported", inputMessage);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.martikan.springtestdemo.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Asynchronous bulk update jobs, see {@code EmployeeUpdateJobServiceImpl}. Their worker pool is owned by the service,
+ * which rejects a job when its queue is full.
+ */
+@Profile("!reactive")
+@EnableConfigurationProperties(EmployeeUpdateJobProperties.class)
+@Configuration
+public class EmployeeUpdateJobConfig {
+}
@@ -0,0 +1,45 @@
+package com.martikan.springtestdemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous bulk update jobs, see {@link EmployeeUpdateJobConfig}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.update-jobs")
+public class EmployeeUpdateJobProperties {
+
+    /**
+     * Number of jobs applied concurrently, each holds a connection while it applies a batch.
+     */
+    private int workers = 2;
+
+    /**
+     * Number of submitted jobs waiting for a worker, further submissions are rejected with 503.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Number of updates of the queued and running jobs held in memory, a submission which would exceed it is
+     * rejected with 503. Bounds the memory of the jobs, the queue capacity only bounds their number.
+     */
+    private long maxPendingUpdates = 1_000_000;
+
+    /**
+     * Number of updates applied per transaction and statement.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of updates per job.
+     */
+    private int maxJobSize = 100_000;
+
+    /**
+     * How long the status of a job can be queried after its last progress.
+     */
+    private Duration retention = Duration.ofHours(1);
+}
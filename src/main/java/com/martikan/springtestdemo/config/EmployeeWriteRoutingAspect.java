@@ -0,0 +1,24 @@
+package com.martikan.springtestdemo.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Opens the read-your-writes window for the commits of the employee services, see
+ * {@link ReadOnlyRoutingDataSource}. Their read-only transactions aren't affected by the marker.
+ */
+@Aspect
+class EmployeeWriteRoutingAspect {
+
+    @Around("execution(* com.martikan.springtestdemo.service.EmployeeService.*(..))"
+            + " || execution(* com.martikan.springtestdemo.service.EmployeeImportService.*(..))")
+    public Object markEmployeeWrites(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final var previous = ReadOnlyRoutingDataSource.setEmployeeWrites(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadOnlyRoutingDataSource.setEmployeeWrites(previous);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.martikan.springtestdemo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Training run for a class data sharing archive: with {@code app.startup.exit-on-ready} the application starts,
+ * loading the classes of a regular start, and exits right away, so the JVM can dump them with
+ * {@code -XX:ArchiveClassesAtExit}. Read at runtime rather than as a condition, which AOT processing would fix.
+ */
+@Slf4j
+@Component
+public class ExitOnReadyListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final boolean exitOnReady;
+
+    public ExitOnReadyListener(@Value("${app.startup.exit-on-ready:false}") final boolean exitOnReady) {
+        this.exitOnReady = exitOnReady;
+    }
+
+    @Override
+    public void onApplicationEvent(final ApplicationReadyEvent event) {
+        if (exitOnReady) {
+            log.info("Started for a training run, exiting");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.martikan.springtestdemo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.TreeMap;
+
+/**
+ * Counts the statements executed and the rows fetched for the current request, see {@link JdbcRequestStats},
+ * and logs the statements slower than a threshold. Connections, statements and result sets are wrapped in JDK
+ * proxies which pass every call through and only look at the executions, the bound parameters and the
+ * {@code next()} calls returning a row.
+ * <p>
+ * Slow statements are logged with the types of their parameters, never their values, which may be personal data.
+ */
+@Slf4j
+public class InstrumentedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final long slowStatementThresholdNanos;
+
+    /**
+     * @param slowStatementThreshold statements taking longer are logged, {@code null} to log none
+     */
+    public InstrumentedDataSource(final DataSource targetDataSource, final Duration slowStatementThreshold) {
+        super(targetDataSource);
+        this.slowStatementThresholdNanos = slowStatementThreshold == null
+                ? Long.MAX_VALUE
+                : slowStatementThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    /**
+     * The wrapper is the exposed bean, so it has to close the pool on shutdown.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection wrapConnection(final Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            final var result = invoke(connection, method, args);
+            // The SQL of a prepared statement is only passed here
+            final var sql = args != null && args.length > 0 && args[0] instanceof String value ? value : null;
+            if (result instanceof CallableStatement statement) {
+                return new StatementHandler<>(CallableStatement.class, statement, sql).proxy();
+            }
+            if (result instanceof PreparedStatement statement) {
+                return new StatementHandler<>(PreparedStatement.class, statement, sql).proxy();
+            }
+            if (result instanceof Statement statement) {
+                return new StatementHandler<>(Statement.class, statement, null).proxy();
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(final ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (method, args) -> {
+            final var result = invoke(resultSet, method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                JdbcRequestStats.rowFetched();
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final T target, final Handler handler) {
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    // Identity of the proxy, Spring compares connections to find the one bound to the transaction
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.handle(method, args);
+                });
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Type of a bound parameter, e.g. {@code String} or {@code null}.
+     */
+    private static String shapeOf(final Method method, final Object[] args) {
+        if ("setNull".equals(method.getName()) || args[1] == null) {
+            return "null";
+        }
+        return args[1] instanceof Array ? "Array" : args[1].getClass().getSimpleName();
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * Keeps what a slow statement is logged with: its SQL, the shapes of its parameters and its batch size.
+     * A statement is only used by one thread at a time, so the state needs no synchronization.
+     */
+    private final class StatementHandler<T extends Statement> implements Handler {
+
+        private final Class<T> type;
+
+        private final T statement;
+
+        private String sql;
+
+        private final TreeMap<Integer, String> parameters = new TreeMap<>();
+
+        private int batchSize;
+
+        private StatementHandler(final Class<T> type, final T statement, final String sql) {
+            this.type = type;
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        private T proxy() {
+            return InstrumentedDataSource.proxy(type, statement, this);
+        }
+
+        @Override
+        public Object handle(final Method method, final Object[] args) throws Throwable {
+            final var name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, shapeOf(method, args));
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            } else if ("addBatch".equals(name)) {
+                batchSize++;
+            } else if ("clearBatch".equals(name)) {
+                batchSize = 0;
+            }
+            final var result = invoke(statement, method, args);
+            return result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+        }
+
+        private Object execute(final Method method, final Object[] args) throws Throwable {
+            if (args != null && args.length > 0 && args[0] instanceof String value) {
+                sql = value;
+            }
+
+            final var startedAt = System.nanoTime();
+            try {
+                final var result = invoke(statement, method, args);
+                return result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+            } finally {
+                final var elapsed = System.nanoTime() - startedAt;
+                JdbcRequestStats.statementExecuted();
+                if (elapsed >= slowStatementThresholdNanos) {
+                    log.warn("Slow statement took {} ms{}: {} parameters {}", elapsed / 1_000_000,
+                            batchSize > 0 ? " (batch of " + batchSize + ")" : "", sql, parameters.values());
+                }
+                if (method.getName().endsWith("Batch")) {
+                    batchSize = 0;
+                }
+            }
+        }
+    }
+}
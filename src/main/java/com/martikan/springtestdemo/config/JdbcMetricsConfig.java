@@ -0,0 +1,82 @@
+package com.martikan.springtestdemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per-request JDBC statement and row counts, see {@link JdbcRequestMetricsFilter}, and the slow statement log.
+ * Only the data source JPA works with is instrumented, with a read replica that is the routing one, so nothing
+ * is counted twice. Also the saturation of every connection pool.
+ */
+@Profile("!reactive")
+@EnableConfigurationProperties(JdbcMetricsProperties.class)
+@Configuration
+public class JdbcMetricsConfig {
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(
+            final ObjectProvider<JdbcMetricsProperties> properties) {
+        // Resolved lazily: a post-processor is created before the configuration properties can be bound
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (DATA_SOURCE_BEAN_NAME.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource,
+                            properties.getObject().getSlowStatementThreshold());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public JdbcRequestMetricsFilter jdbcRequestMetricsFilter(final MeterRegistry meterRegistry) {
+        return new JdbcRequestMetricsFilter(meterRegistry);
+    }
+
+    /**
+     * Share of the pool's connections in use, next to Hikari's own {@code hikaricp.connections.*} meters. Close to 1
+     * together with {@code hikaricp.connections.pending} above 0 means requests queue up for a connection.
+     */
+    @Bean
+    public MeterBinder connectionPoolSaturationMetrics(final ObjectProvider<Map<String, DataSource>> dataSources) {
+        return registry -> {
+            final var pools = Collections.newSetFromMap(new IdentityHashMap<HikariDataSource, Boolean>());
+            dataSources.getObject().forEach((name, dataSource) -> {
+                // Null for the routing data source, its pools are beans of their own
+                final var pool = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+                if (pool != null && pools.add(pool)) {
+                    Gauge.builder("hikaricp.connections.saturation", pool, JdbcMetricsConfig::saturation)
+                            .description("Share of the pool's connections in use")
+                            // Same tag as Hikari's meters, the name is only generated on start if not configured
+                            .tag("pool", pool.getPoolName() != null ? pool.getPoolName() : name)
+                            .register(registry);
+                }
+            });
+        };
+    }
+
+    private static double saturation(final HikariDataSource dataSource) {
+        // Not started before the first connection is requested
+        final var pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.martikan.springtestdemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * JDBC instrumentation, see {@link JdbcMetricsConfig}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.jdbc")
+public class JdbcMetricsProperties {
+
+    /**
+     * Statements taking at least this long are logged with the types of their parameters, empty to log none.
+     */
+    private Duration slowStatementThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,58 @@
+package com.martikan.springtestdemo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the statements executed and the rows fetched per request as {@code jdbc.request.statements} and
+ * {@code jdbc.request.rows}, tagged like {@code http.server.requests}. A growing statement count for the same
+ * route is the signature of an N+1 query.
+ */
+@RequiredArgsConstructor
+public class JdbcRequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS = "jdbc.request.statements";
+
+    public static final String ROWS = "jdbc.request.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final var stats = JdbcRequestStats.start();
+        request.setAttribute(JdbcRequestStats.ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            JdbcRequestStats.stop();
+            record(request, stats);
+        }
+    }
+
+    private void record(final HttpServletRequest request, final JdbcRequestStats stats) {
+        // The route pattern, not the actual path, to keep the number of time series bounded
+        final var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        final var tags = Tags.of("method", request.getMethod(), "uri", uri == null ? "UNKNOWN" : uri.toString());
+        DistributionSummary.builder(STATEMENTS)
+                .baseUnit("statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder(ROWS)
+                .baseUnit("rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRows());
+    }
+}
@@ -0,0 +1,54 @@
+package com.martikan.springtestdemo.config;
+
+/**
+ * JDBC work of the request being handled by the current thread, counted by {@link InstrumentedDataSource}.
+ * Work outside a request (scheduled jobs, streamed response bodies) is not counted.
+ */
+public final class JdbcRequestStats {
+
+    /**
+     * Request attribute the stats of the request are exposed with, e.g. to check a statement budget in tests.
+     */
+    public static final String ATTRIBUTE = JdbcRequestStats.class.getName();
+
+    private static final ThreadLocal<JdbcRequestStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+
+    private long rows;
+
+    private JdbcRequestStats() {
+    }
+
+    public static JdbcRequestStats start() {
+        final var stats = new JdbcRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void statementExecuted() {
+        final var stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void rowFetched() {
+        final var stats = CURRENT.get();
+        if (stats != null) {
+            stats.rows++;
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+}
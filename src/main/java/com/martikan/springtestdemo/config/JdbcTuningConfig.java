@@ -0,0 +1,72 @@
+package com.martikan.springtestdemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Applies {@link JdbcTuningProperties} to every Hikari pool (the primary and, if enabled, the replica one)
+ * and to Hibernate. The pool sizes stay with {@code spring.datasource.hikari} and
+ * {@code app.datasource.replica.hikari}.
+ */
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.jdbc.tuning.enabled", havingValue = "true")
+@EnableConfigurationProperties(JdbcTuningProperties.class)
+@Configuration
+public class JdbcTuningConfig {
+
+    /**
+     * Runs after the pool properties have been bound and before the pool is started or wrapped.
+     */
+    @Bean
+    public static BeanPostProcessor hikariTuningPostProcessor(final ObjectProvider<JdbcTuningProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    tune(dataSource, properties.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcTuningHibernatePropertiesCustomizer(
+            final JdbcTuningProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_BATCH_SIZE, properties.getBatchSize());
+            hibernateProperties.put(AvailableSettings.ORDER_INSERTS, true);
+            hibernateProperties.put(AvailableSettings.ORDER_UPDATES, true);
+            // IN lists padded to powers of two, so they reuse a few cached statements instead of one per size
+            hibernateProperties.put(AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, true);
+        };
+    }
+
+    private static void tune(final HikariDataSource dataSource, final JdbcTuningProperties properties) {
+        dataSource.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        dataSource.setMaxLifetime(properties.getMaxLifetime().toMillis());
+        dataSource.setKeepaliveTime(properties.getKeepaliveTime().toMillis());
+        if (properties.getLeakDetectionThreshold() != null) {
+            dataSource.setLeakDetectionThreshold(properties.getLeakDetectionThreshold().toMillis());
+        }
+        if (properties.isFixedPoolSize()) {
+            dataSource.setMinimumIdle(dataSource.getMaximumPoolSize());
+        }
+
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", properties.isReWriteBatchedInserts());
+        dataSource.addDataSourceProperty("prepareThreshold", properties.getPrepareThreshold());
+        dataSource.addDataSourceProperty("preparedStatementCacheQueries",
+                properties.getPreparedStatementCacheQueries());
+        dataSource.addDataSourceProperty("preparedStatementCacheSizeMiB",
+                properties.getPreparedStatementCacheSizeMib());
+    }
+
+}
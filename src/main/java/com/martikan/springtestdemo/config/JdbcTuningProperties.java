@@ -0,0 +1,88 @@
+package com.martikan.springtestdemo.config;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Connection pool, PostgreSQL driver and Hibernate batching settings for production, see {@link JdbcTuningConfig}.
+ * Validated on startup, so a bad value fails the deployment instead of degrading it. The minimums are Hikari's.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.jdbc.tuning")
+public class JdbcTuningProperties {
+
+    /**
+     * Whether the settings are applied, the prod profile enables them.
+     */
+    private boolean enabled;
+
+    /**
+     * Keeps as many idle connections as the pool can hold, so a burst doesn't wait for connections to be opened.
+     */
+    private boolean fixedPoolSize = true;
+
+    /**
+     * How long a request waits for a connection before failing, instead of queueing up behind a saturated pool.
+     */
+    @NotNull
+    @DurationMin(millis = 250)
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    @NotNull
+    @DurationMin(seconds = 30)
+    private Duration maxLifetime = Duration.ofMinutes(30);
+
+    /**
+     * Pings idle connections, so firewalls and proxies don't drop them silently.
+     */
+    @NotNull
+    @DurationMin(seconds = 30)
+    private Duration keepaliveTime = Duration.ofMinutes(5);
+
+    /**
+     * Connections held longer are logged as possible leaks, empty to disable.
+     */
+    @DurationMin(seconds = 2)
+    private Duration leakDetectionThreshold;
+
+    /**
+     * Lets the driver rewrite a batch of inserts into multi-row inserts, one round trip for the whole batch.
+     */
+    private boolean reWriteBatchedInserts = true;
+
+    /**
+     * Executions of a statement after which the driver switches to a server-side prepared statement.
+     */
+    @Min(0)
+    private int prepareThreshold = 3;
+
+    /**
+     * Number of statements the driver keeps prepared per connection.
+     */
+    @Min(0)
+    private int preparedStatementCacheQueries = 512;
+
+    @Min(0)
+    private int preparedStatementCacheSizeMib = 10;
+
+    /**
+     * Number of inserts and updates Hibernate sends per JDBC batch.
+     */
+    @Min(1)
+    @Max(1000)
+    private int batchSize = 50;
+
+    @AssertTrue(message = "keepaliveTime must be shorter than maxLifetime")
+    public boolean isKeepaliveShorterThanMaxLifetime() {
+        return keepaliveTime == null || maxLifetime == null || keepaliveTime.compareTo(maxLifetime) < 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.martikan.springtestdemo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.springtestdemo.service.EmployeeChangeSink;
+import com.martikan.springtestdemo.service.FileEmployeeChangeSink;
+import com.martikan.springtestdemo.service.InMemoryEmployeeChangeSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Sink the employee changes are published to by the relay. Select the built-in one with {@code app.outbox.sink},
+ * or plug in a broker by declaring an {@link EmployeeChangeSink} bean.
+ */
+@Profile("!reactive")
+@EnableConfigurationProperties(OutboxProperties.class)
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file")
+    public FileEmployeeChangeSink fileEmployeeChangeSink(final OutboxProperties properties,
+                                                         final ObjectMapper objectMapper) {
+        return new FileEmployeeChangeSink(properties.getFile(), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(EmployeeChangeSink.class)
+    public InMemoryEmployeeChangeSink inMemoryEmployeeChangeSink(final OutboxProperties properties) {
+        return new InMemoryEmployeeChangeSink(properties.getMemoryCapacity());
+    }
+
+    @EnableScheduling
+    @ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+    @Configuration
+    static class RelaySchedulingConfig {
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.martikan.springtestdemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Relay of the employee change outbox, see {@link OutboxConfig}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /**
+     * Number of changes published (and marked as such) per transaction.
+     */
+    private int batchSize = 500;
+
+    private Sink sink = Sink.MEMORY;
+
+    /**
+     * File the changes are appended to as NDJSON by the file sink.
+     */
+    private Path file = Path.of("employee-changes.ndjson");
+
+    /**
+     * Number of most recent changes kept by the in-memory sink.
+     */
+    private int memoryCapacity = 10_000;
+
+    private final Relay relay = new Relay();
+
+    private final Retention retention = new Retention();
+
+    @Data
+    public static class Relay {
+
+        /**
+         * Whether the relay (and the purge) runs on a schedule, both can still be triggered through
+         * {@code EmployeeChangeRelay}.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between two runs, the @Scheduled annotation only accepts the ISO-8601 format (e.g. PT1S).
+         */
+        private Duration interval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Retention {
+
+        /**
+         * How long published changes are kept, consumers behind that have to sync from scratch.
+         */
+        private Duration period = Duration.ofDays(7);
+
+        /**
+         * Delay between two purges of the published changes past the period, ISO-8601 as for the relay.
+         */
+        private Duration interval = Duration.ofHours(1);
+    }
+
+    public enum Sink {
+        MEMORY,
+        FILE
+    }
+}
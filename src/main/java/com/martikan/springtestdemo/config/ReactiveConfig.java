@@ -0,0 +1,48 @@
+package com.martikan.springtestdemo.config;
+
+import com.martikan.springtestdemo.repository.ReactiveEmployeeRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+
+/**
+ * WebFlux on Netty event loops with an R2DBC pool over the same {@code employees} table.
+ * The R2DBC auto-configuration is excluded in application.yml, so the servlet stack never needs an R2DBC URL.
+ */
+@Profile("reactive")
+@RequiredArgsConstructor
+@EnableConfigurationProperties(R2dbcProperties.class)
+@EnableR2dbcRepositories(basePackageClasses = ReactiveEmployeeRepository.class)
+@Configuration
+public class ReactiveConfig extends AbstractR2dbcConfiguration {
+
+    private final R2dbcProperties properties;
+
+    @Bean
+    @Override
+    public ConnectionFactory connectionFactory() {
+        return ConnectionFactories.get(ConnectionFactoryOptions.parse(properties.getUrl())
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                .build());
+    }
+
+    /**
+     * Tomcat is on the classpath for the servlet stack, Netty is preferred explicitly here.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.martikan.springtestdemo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes read-only transactions to the replica and everything else to the primary. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so the connection is only
+ * looked up once the transaction's read-only flag is set.
+ * <p>
+ * Reads which populate a cache always go to the primary, see {@link CacheLoadRoutingAspect}: a stale row read from
+ * the replica would otherwise be served until it expires. The read-your-writes window is only opened by commits
+ * which wrote employees, see {@link EmployeeWriteRoutingAspect}: the outbox relay commits every second and would
+ * otherwise keep every read on the primary. It is tracked per instance, it doesn't cover writes made through other
+ * instances.
+ */
+class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final long readYourWritesWindowNanos;
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = ThreadLocal.withInitial(() -> false);
+
+    private static final ThreadLocal<Boolean> EMPLOYEE_WRITES = ThreadLocal.withInitial(() -> false);
+
+    private final AtomicLong lastWriteNanos = new AtomicLong(NEVER);
+
+    ReadOnlyRoutingDataSource(final Duration readYourWritesWindow) {
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (readYourWritesWindowNanos > 0 && EMPLOYEE_WRITES.get()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        lastWriteNanos.set(System.nanoTime());
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+
+        if (PRIMARY_READS.get()) {
+            return Route.PRIMARY;
+        }
+
+        final var lastWrite = lastWriteNanos.get();
+        // The replica may not have replayed a recent commit yet
+        if (lastWrite != NEVER && System.nanoTime() - lastWrite < readYourWritesWindowNanos) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    /**
+     * Sends the read-only transactions of the current thread to the primary, or back to the replica.
+     *
+     * @return the previous setting, to be restored afterwards
+     */
+    static boolean setPrimaryReads(final boolean primaryReads) {
+        final var previous = PRIMARY_READS.get();
+        if (primaryReads) {
+            PRIMARY_READS.set(true);
+        } else {
+            PRIMARY_READS.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Marks the read-write transactions of the current thread as writing employees, so their commits keep the
+     * following reads on the primary for the read-your-writes window.
+     *
+     * @return the previous setting, to be restored afterwards
+     */
+    static boolean setEmployeeWrites(final boolean employeeWrites) {
+        final var previous = EMPLOYEE_WRITES.get();
+        if (employeeWrites) {
+            EMPLOYEE_WRITES.set(true);
+        } else {
+            EMPLOYEE_WRITES.remove();
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,101 @@
+package com.martikan.springtestdemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to a streaming replica and writes to the primary when
+ * {@code app.datasource.replica.enabled} is set. Both pools report Hikari metrics tagged with
+ * {@code pool=primary} and {@code pool=replica}. Liquibase keeps migrating the primary only. Cached reads stay on
+ * the primary.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    public static final String PRIMARY_POOL = "primary";
+
+    public static final String REPLICA_POOL = "replica";
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties,
+                                              final ObjectProvider<MeterRegistry> meterRegistry) {
+        final var dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        return configurePool(dataSource, PRIMARY_POOL, meterRegistry);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(final DataSourceProperties primaryProperties,
+                                              final ReplicaDataSourceProperties properties,
+                                              final ObjectProvider<MeterRegistry> meterRegistry) {
+        final var dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primaryProperties.determineDriverClassName())
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        return configurePool(dataSource, REPLICA_POOL, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") final HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") final HikariDataSource replicaDataSource,
+                                 final ReplicaDataSourceProperties properties) {
+        final var routingDataSource = new ReadOnlyRoutingDataSource(properties.getReadYourWritesWindow());
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadOnlyRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                ReadOnlyRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        final var dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        // Known up front, so the proxy doesn't open a connection at startup to find them out
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    @Bean
+    CacheLoadRoutingAspect cacheLoadRoutingAspect() {
+        return new CacheLoadRoutingAspect();
+    }
+
+    @Bean
+    EmployeeWriteRoutingAspect employeeWriteRoutingAspect() {
+        return new EmployeeWriteRoutingAspect();
+    }
+
+    private static HikariDataSource configurePool(final HikariDataSource dataSource, final String poolName,
+                                                  final ObjectProvider<MeterRegistry> meterRegistry) {
+        dataSource.setPoolName(poolName);
+        // Set before the pool starts, Spring Boot's binder would be too late if Hibernate connects first
+        meterRegistry.ifAvailable(registry ->
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+}
@@ -0,0 +1,29 @@
+package com.martikan.springtestdemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection of the read replica, see {@link ReplicaDataSourceConfig}. Pool settings are bound from
+ * {@code app.datasource.replica.hikari.*} the same way as {@code spring.datasource.hikari.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * How long read-only transactions keep going to the primary after a write has been committed on this
+     * instance, should cover the replication lag. Zero disables read-your-writes.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+}
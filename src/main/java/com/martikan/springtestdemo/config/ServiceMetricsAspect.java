@@ -0,0 +1,58 @@
+package com.martikan.springtestdemo.config;
+
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.exception.ConflictException;
+import com.martikan.springtestdemo.exception.PreconditionFailedException;
+import com.martikan.springtestdemo.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every {@code EmployeeService} call as {@code employee.service}, tagged by operation and outcome.
+ * Repository calls are timed by Spring Boot as {@code spring.data.repository.invocations}. Percentile histograms
+ * of both are enabled in application.yml, so percentiles can be aggregated across instances in Prometheus.
+ */
+@RequiredArgsConstructor
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    public static final String TIMER = "employee.service";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.martikan.springtestdemo.service.EmployeeService+.*(..))")
+    public Object time(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final var sample = Timer.start(meterRegistry);
+        var outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER)
+                    .tag("operation", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String outcome(final Throwable e) {
+        if (e instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof ConflictException || e instanceof PreconditionFailedException) {
+            return "conflict";
+        }
+        if (e instanceof BadRequestException) {
+            return "bad_request";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,34 @@
+package com.martikan.springtestdemo.controller;
+
+import com.martikan.springtestdemo.apiConstant.Routes;
+import com.martikan.springtestdemo.dto.EmployeeChangeDTO;
+import com.martikan.springtestdemo.service.EmployeeChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Profile("!reactive")
+@RequiredArgsConstructor
+@RequestMapping(Routes.CHANGES_V1_PATH)
+@RestController
+public class EmployeeChangeController {
+
+    private final EmployeeChangeService changeService;
+
+    /**
+     * Changes published after the given position, so consumers can sync incrementally by passing the
+     * {@code seq} of the last change they have seen.
+     */
+    @GetMapping
+    public ResponseEntity<List<EmployeeChangeDTO>> getChanges(@RequestParam(defaultValue = "0") final long since,
+                                                              @RequestParam(defaultValue = "100") final int size) {
+        return ResponseEntity.ok(changeService.getChangesAfter(since, size));
+    }
+
+}
@@ -1,25 +1,49 @@
 package com.martikan.springtestdemo.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.martikan.springtestdemo.apiConstant.Routes;
+import com.martikan.springtestdemo.dto.CursorPageDTO;
+import com.martikan.springtestdemo.dto.EmployeeActiveUpdateDTO;
+import com.martikan.springtestdemo.dto.EmployeeBulkResultDTO;
 import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
+import com.martikan.springtestdemo.dto.EmployeeImportReportDTO;
+import com.martikan.springtestdemo.exception.PreconditionFailedException;
+import com.martikan.springtestdemo.service.EmployeeImportService;
 import com.martikan.springtestdemo.service.EmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping(Routes.EMPLOYEE_V1_PATH)
 @RestController
@@ -27,21 +51,86 @@ public class EmployeeController {
 
     private final EmployeeService employeeService;
 
+    private final EmployeeImportService employeeImportService;
+
+    private final ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<List<EmployeeDTO>> getEmployees(@PageableDefault(size = 25) final Pageable pageable) {
-        return ResponseEntity.ok(employeeService.getAllEmployees(pageable));
+    public ResponseEntity<List<EmployeeDTO>> getEmployees(final EmployeeFilterDTO filter,
+                                                          @PageableDefault(size = 25) final Pageable pageable) {
+        final var employees = employeeService.getAllEmployees(filter, pageable);
+        // A matching If-None-Match is answered with 304 by Spring before the body is serialized
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(listETag(employees))
+                // JSON or a binary format, see BinaryFormatConfig
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(employees);
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<EmployeeDTO>> getEmployeesAfter(@RequestParam(required = false) final String after,
+                                                                        @RequestParam(defaultValue = "25") final int size) {
+        return ResponseEntity.ok(employeeService.getEmployeesAfter(after, size));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<EmployeeDTO>> searchEmployees(@RequestParam final String q,
+                                                                      @RequestParam(required = false) final String after,
+                                                                      @RequestParam(defaultValue = "10") final int size) {
+        return ResponseEntity.ok(employeeService.searchEmployees(q, after, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        final StreamingResponseBody body = outputStream ->
+                employeeService.exportEmployees(dto -> writeLine(outputStream, dto));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * The ETag is the version of the returned employee, so it always validates the body that is sent, even if that
+     * comes from the cache. A matching If-None-Match is answered with 304 by Spring before the body is serialized.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable final Long id) {
-        return ResponseEntity.ok(employeeService.getEmployeeById(id));
+        final var employee = employeeService.getEmployeeById(id);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag(employee.getVersion()))
+                .lastModified(employee.getUpdatedAt())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(employee);
     }
 
+    /**
+     * With an {@code If-Match} header the employee is only updated if its ETag still matches, 412 otherwise.
+     * Without it a version in the body is checked the same way, but answered with 409.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<EmployeeDTO> updateEmployee(@PathVariable final Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                      final String ifMatch,
                                                       @Valid @RequestBody EmployeeDTO dto) {
         dto.setId(id);
-        return ResponseEntity.ok(employeeService.updateEmployee(dto));
+        final var employee = employeeService.updateEmployee(dto, parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(eTag(employee.getVersion()))
+                .lastModified(employee.getUpdatedAt())
+                .body(employee);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    public ResponseEntity<EmployeeDTO> patchEmployee(@PathVariable final Long id,
+                                                     @RequestBody final JsonNode patch) {
+        return ResponseEntity.ok(employeeService.patchEmployee(id, patch));
+    }
+
+    @PatchMapping("/active")
+    public ResponseEntity<Integer> updateEmployeesActive(@Valid @RequestBody EmployeeActiveUpdateDTO dto) {
+        return ResponseEntity.ok(employeeService.updateEmployeesActive(dto.getIds(), dto.getActive()));
     }
 
     @PostMapping
@@ -49,10 +138,68 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.saveEmployee(dto));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<EmployeeBulkResultDTO>> saveEmployees(@RequestBody List<EmployeeDTO> dtos) {
+        return ResponseEntity.ok(employeeService.saveEmployees(dtos));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<EmployeeImportReportDTO> importEmployees(final InputStream csv) {
+        return ResponseEntity.ok(employeeImportService.importEmployees(csv));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployee(@PathVariable final Long id) {
         employeeService.deleteEmployee(id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Employee has been deleted successfully!");
     }
 
+    /**
+     * Strong ETag of an employee: its version.
+     */
+    private static String eTag(final Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Strong ETag of a page: a hash over the ids and versions of the returned employees. Pages are never cached, and
+     * every write including the bulk ones increments the version, so it changes with the body.
+     */
+    private static String listETag(final List<EmployeeDTO> employees) {
+        final var state = new StringBuilder(employees.size() * 16);
+        for (final var employee : employees) {
+            state.append(employee.getId()).append(':').append(employee.getVersion()).append(';');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Parses the version from an {@code If-Match} header, {@code null} if the update is unconditional.
+     * If-Match uses the strong comparison, so a weak or unknown ETag can never match.
+     */
+    private static Long parseIfMatch(final String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+
+        final var tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("Employee has been modified in the meantime");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Employee has been modified in the meantime");
+        }
+    }
+
+    private void writeLine(final OutputStream outputStream, final EmployeeDTO dto) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(dto));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
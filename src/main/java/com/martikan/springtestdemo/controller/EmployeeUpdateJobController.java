@@ -0,0 +1,48 @@
+package com.martikan.springtestdemo.controller;
+
+import com.martikan.springtestdemo.apiConstant.Routes;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeUpdateJobDTO;
+import com.martikan.springtestdemo.service.EmployeeUpdateJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+@Profile("!reactive")
+@RequiredArgsConstructor
+@RequestMapping(Routes.UPDATE_JOBS_V1_PATH)
+@RestController
+public class EmployeeUpdateJobController {
+
+    private final EmployeeUpdateJobService updateJobService;
+
+    /**
+     * Answered with 202 as soon as the updates are validated and queued, the Location header points to the job.
+     */
+    @PostMapping
+    public ResponseEntity<EmployeeUpdateJobDTO> submitUpdates(@RequestBody List<EmployeeDTO> dtos) {
+        final var job = updateJobService.submitUpdates(dtos);
+        final var location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<EmployeeUpdateJobDTO> getJob(@PathVariable final String id) {
+        return ResponseEntity.ok(updateJobService.getJob(id));
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.martikan.springtestdemo.controller;
+
+import com.martikan.springtestdemo.apiConstant.Routes;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.service.ReactiveEmployeeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeController}, served on WebFlux with R2DBC in the reactive profile.
+ */
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping(Routes.EMPLOYEE_V1_PATH)
+@RestController
+public class ReactiveEmployeeController {
+
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private final ReactiveEmployeeService employeeService;
+
+    @GetMapping
+    public Flux<EmployeeDTO> getEmployees(@RequestParam(defaultValue = "0") final int page,
+                                          @RequestParam(defaultValue = "25") final int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return Flux.error(new BadRequestException("Page must not be negative and size must be between 1 and "
+                    + MAX_PAGE_SIZE));
+        }
+
+        return employeeService.getAllEmployees(PageRequest.of(page, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EmployeeDTO> exportEmployees() {
+        return employeeService.exportEmployees();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<EmployeeDTO> getEmployeeById(@PathVariable final Long id) {
+        return employeeService.getEmployeeById(id);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<EmployeeDTO> updateEmployee(@PathVariable final Long id,
+                                            @Valid @RequestBody EmployeeDTO dto) {
+        dto.setId(id);
+        return employeeService.updateEmployee(dto);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<EmployeeDTO> saveEmployee(@Valid @RequestBody EmployeeDTO dto) {
+        return employeeService.saveEmployee(dto);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteEmployee(@PathVariable final Long id) {
+        return employeeService.deleteEmployee(id);
+    }
+
+}
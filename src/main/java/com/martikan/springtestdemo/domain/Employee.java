@@ -1,13 +1,19 @@
 package com.martikan.springtestdemo.domain;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.ZonedDateTime;
 
@@ -15,11 +21,14 @@ import java.time.ZonedDateTime;
 @Getter
 @Setter
 @Entity
+@DynamicUpdate
 @Table(name = "employees")
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (instead of IDENTITY) keeps Hibernate JDBC insert batching enabled
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_id_seq")
+    @SequenceGenerator(name = "employees_id_seq", sequenceName = "employees_id_seq", allocationSize = 50)
     private Long id;
 
     private String firstName;
@@ -30,7 +39,23 @@ public class Employee {
 
     private Boolean active = true;
 
+    @CreationTimestamp
+    @Column(updatable = false)
     private ZonedDateTime createdAt;
 
+    /**
+     * Set on insert here, on updates by the service together with the change.
+     */
     private ZonedDateTime updatedAt;
+
+    /**
+     * Optimistic lock, incremented on every update. It is also the ETag of the employee.
+     */
+    @Version
+    private Long version;
+
+    @PrePersist
+    void prePersist() {
+        updatedAt = Timestamps.now();
+    }
 }
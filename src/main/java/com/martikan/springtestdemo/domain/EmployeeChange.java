@@ -0,0 +1,54 @@
+package com.martikan.springtestdemo.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Outbox entry of an employee mutation. Written in the same transaction as the mutation and published
+ * by the relay, which assigns the {@code seq} consumers sync by.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@DynamicUpdate
+@Table(name = "employee_changes")
+public class EmployeeChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_changes_id_seq")
+    @SequenceGenerator(name = "employee_changes_id_seq", sequenceName = "employee_changes_id_seq", allocationSize = 50)
+    private Long id;
+
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    private EmployeeChangeType type;
+
+    /**
+     * The employee after the change as JSON, {@code null} for a deletion.
+     */
+    private String payload;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private ZonedDateTime createdAt;
+
+    private Long seq;
+
+    private ZonedDateTime publishedAt;
+}
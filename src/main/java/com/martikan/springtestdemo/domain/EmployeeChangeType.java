@@ -0,0 +1,7 @@
+package com.martikan.springtestdemo.domain;
+
+public enum EmployeeChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
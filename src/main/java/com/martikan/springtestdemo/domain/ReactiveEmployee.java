@@ -0,0 +1,38 @@
+package com.martikan.springtestdemo.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.ZonedDateTime;
+
+/**
+ * R2DBC mapping of the {@code employees} table for the reactive profile, see {@link Employee} for the JPA one.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Table("employees")
+public class ReactiveEmployee {
+
+    @Id
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private Boolean active = true;
+
+    private ZonedDateTime createdAt;
+
+    private ZonedDateTime updatedAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,17 @@
+package com.martikan.springtestdemo.domain;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Timestamps in the precision PostgreSQL stores, so a value kept in memory (e.g. in the cache) equals the stored one.
+ */
+public final class Timestamps {
+
+    private Timestamps() {
+    }
+
+    public static ZonedDateTime now() {
+        return ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,25 @@
+package com.martikan.springtestdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T extends Serializable> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3156447383271927785L;
+
+    private List<T> content;
+
+    /**
+     * Opaque cursor of the next page, {@code null} when there are no more elements.
+     */
+    private String nextCursor;
+}
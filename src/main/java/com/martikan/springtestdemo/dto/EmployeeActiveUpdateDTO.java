@@ -0,0 +1,24 @@
+package com.martikan.springtestdemo.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+public class EmployeeActiveUpdateDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -5310964285403651871L;
+
+    @NotEmpty
+    @Size(max = 5000)
+    private List<@NotNull Long> ids;
+
+    @NotNull
+    private Boolean active;
+}
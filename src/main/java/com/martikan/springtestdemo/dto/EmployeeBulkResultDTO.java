@@ -0,0 +1,36 @@
+package com.martikan.springtestdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBulkResultDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2215945107364182473L;
+
+    /**
+     * Position of the employee in the request payload.
+     */
+    private int index;
+
+    private Long id;
+
+    private String email;
+
+    private Status status;
+
+    private String message;
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+}
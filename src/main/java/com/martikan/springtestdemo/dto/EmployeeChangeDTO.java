@@ -0,0 +1,37 @@
+package com.martikan.springtestdemo.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.martikan.springtestdemo.domain.EmployeeChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangeDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -4412190687745329318L;
+
+    /**
+     * Position in the change stream, pass the last one seen as {@code since} to get the following changes.
+     */
+    private Long seq;
+
+    private Long employeeId;
+
+    private EmployeeChangeType type;
+
+    /**
+     * The employee after the change, in the shape of {@link EmployeeDTO}. {@code null} for a deletion.
+     */
+    @JsonRawValue
+    private String payload;
+
+    private ZonedDateTime createdAt;
+}
@@ -1,15 +1,21 @@
 package com.martikan.springtestdemo.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
 import org.hibernate.validator.constraints.Length;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class EmployeeDTO implements Serializable {
 
@@ -34,4 +40,16 @@ public class EmployeeDTO implements Serializable {
     private String email;
 
     private boolean active;
+
+    /**
+     * Incremented on every update. Send it back with an update to have it rejected if the employee has been
+     * modified in the meantime, leave it empty to overwrite.
+     */
+    private Long version;
+
+    /**
+     * Last modification time. Set by the server only.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private ZonedDateTime updatedAt;
 }
@@ -0,0 +1,36 @@
+package com.martikan.springtestdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * Optional filters of the employee list, {@code null} fields are not applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeFilterDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 3186441950271304522L;
+
+    private Boolean active;
+
+    /**
+     * Inclusive lower bound of the creation time.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private ZonedDateTime createdFrom;
+
+    /**
+     * Exclusive upper bound of the creation time.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private ZonedDateTime createdTo;
+}
@@ -0,0 +1,46 @@
+package com.martikan.springtestdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportReportDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -1903412873544652851L;
+
+    private long totalRows;
+
+    private long importedRows;
+
+    private long rejectedRows;
+
+    /**
+     * Details of the rejected rows, capped to keep the report small for huge files.
+     */
+    private List<Rejection> rejections;
+
+    private long durationMillis;
+
+    private double rowsPerSecond;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rejection implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 6351800592286406375L;
+
+        private long line;
+
+        private String message;
+    }
+}
@@ -0,0 +1,71 @@
+package com.martikan.springtestdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeUpdateJobDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -5274104633489010317L;
+
+    private String id;
+
+    private Status status;
+
+    /**
+     * Number of updates in the request payload.
+     */
+    private int submitted;
+
+    /**
+     * Number of updates superseded by a later update of the same employee in the same job.
+     */
+    private int coalesced;
+
+    private int applied;
+
+    private int rejected;
+
+    /**
+     * Details of the rejected updates, capped to keep the status small for huge jobs.
+     */
+    private List<Rejection> rejections;
+
+    private ZonedDateTime submittedAt;
+
+    private ZonedDateTime finishedAt;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rejection implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 3902168471139954721L;
+
+        /**
+         * Position of the update in the request payload.
+         */
+        private int index;
+
+        private Long id;
+
+        private String message;
+    }
+}
@@ -0,0 +1,18 @@
+package com.martikan.springtestdemo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflictException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -3318945029847129653L;
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+}
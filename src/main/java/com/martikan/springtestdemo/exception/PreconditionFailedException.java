@@ -0,0 +1,18 @@
+package com.martikan.springtestdemo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 2749316520835178412L;
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
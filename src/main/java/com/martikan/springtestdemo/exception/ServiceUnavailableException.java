@@ -0,0 +1,18 @@
+package com.martikan.springtestdemo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 4709225136874561829L;
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+}
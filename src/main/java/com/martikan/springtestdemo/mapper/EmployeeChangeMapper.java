@@ -0,0 +1,11 @@
+package com.martikan.springtestdemo.mapper;
+
+import com.martikan.springtestdemo.domain.EmployeeChange;
+import com.martikan.springtestdemo.dto.EmployeeChangeDTO;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface EmployeeChangeMapper {
+
+    EmployeeChangeDTO toDTO(EmployeeChange entity);
+}
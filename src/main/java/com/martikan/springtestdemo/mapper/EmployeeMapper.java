@@ -2,15 +2,37 @@ package com.martikan.springtestdemo.mapper;
 
 import com.martikan.springtestdemo.domain.Employee;
 import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.repository.EmployeeSearchResult;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 
 @Mapper(componentModel = "spring")
 public interface EmployeeMapper {
 
     EmployeeDTO toDTO(Employee entity);
 
+    EmployeeDTO searchResultToDTO(EmployeeSearchResult result);
+
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Employee toEntity(EmployeeDTO dto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(EmployeeDTO dto, @MappingTarget Employee entity);
+
+    /**
+     * Native queries read timestamps as instants, the entities in the JVM's time zone.
+     */
+    default ZonedDateTime toZonedDateTime(final Instant instant) {
+        return instant == null ? null : instant.atZone(ZoneId.systemDefault());
+    }
 }
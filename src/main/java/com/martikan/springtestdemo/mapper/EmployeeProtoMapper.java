@@ -0,0 +1,63 @@
+package com.martikan.springtestdemo.mapper;
+
+import com.google.protobuf.Timestamp;
+import com.martikan.springtestdemo.dto.CursorPageDTO;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.proto.Employee;
+import com.martikan.springtestdemo.proto.EmployeeList;
+import com.martikan.springtestdemo.proto.EmployeePage;
+
+import java.util.List;
+
+/**
+ * Maps the employee DTOs to the messages of {@code employee.proto}. Written by hand, MapStruct doesn't know the
+ * builders of the generated classes.
+ */
+public final class EmployeeProtoMapper {
+
+    private EmployeeProtoMapper() {
+    }
+
+    public static Employee toProto(final EmployeeDTO dto) {
+        final var builder = Employee.newBuilder()
+                .setActive(dto.isActive());
+        // Unset fields are left at their defaults, protobuf has no nulls
+        if (dto.getId() != null) {
+            builder.setId(dto.getId());
+        }
+        if (dto.getFirstName() != null) {
+            builder.setFirstName(dto.getFirstName());
+        }
+        if (dto.getLastName() != null) {
+            builder.setLastName(dto.getLastName());
+        }
+        if (dto.getEmail() != null) {
+            builder.setEmail(dto.getEmail());
+        }
+        if (dto.getVersion() != null) {
+            builder.setVersion(dto.getVersion());
+        }
+        if (dto.getUpdatedAt() != null) {
+            final var instant = dto.getUpdatedAt().toInstant();
+            builder.setUpdatedAt(Timestamp.newBuilder()
+                    .setSeconds(instant.getEpochSecond())
+                    .setNanos(instant.getNano()));
+        }
+        return builder.build();
+    }
+
+    public static EmployeeList toProto(final List<EmployeeDTO> dtos) {
+        final var builder = EmployeeList.newBuilder();
+        dtos.forEach(dto -> builder.addEmployees(toProto(dto)));
+        return builder.build();
+    }
+
+    public static EmployeePage toProto(final CursorPageDTO<EmployeeDTO> page) {
+        final var builder = EmployeePage.newBuilder();
+        page.getContent().forEach(dto -> builder.addContent(toProto(dto)));
+        if (page.getNextCursor() != null) {
+            builder.setNextCursor(page.getNextCursor());
+        }
+        return builder.build();
+    }
+}
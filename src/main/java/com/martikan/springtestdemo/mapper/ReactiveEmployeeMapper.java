@@ -0,0 +1,11 @@
+package com.martikan.springtestdemo.mapper;
+
+import com.martikan.springtestdemo.domain.ReactiveEmployee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ReactiveEmployeeMapper {
+
+    EmployeeDTO toDTO(ReactiveEmployee entity);
+}
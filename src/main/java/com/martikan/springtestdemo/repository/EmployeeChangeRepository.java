@@ -0,0 +1,60 @@
+package com.martikan.springtestdemo.repository;
+
+import com.martikan.springtestdemo.domain.EmployeeChange;
+import com.martikan.springtestdemo.dto.EmployeeChangeDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+    /**
+     * The employee row {@code e} as JSON in the shape of {@link com.martikan.springtestdemo.dto.EmployeeDTO},
+     * for the changes recorded by the SQL statements of {@link EmployeeRepository} and
+     * {@link ReactiveEmployeeRepository}. {@code updatedAt} is written as Jackson writes it: in UTC with a {@code Z}
+     * and without trailing zeros of the fraction, instead of in the offset of the session time zone.
+     */
+    String EMPLOYEE_PAYLOAD = "cast(jsonb_build_object('id', e.id, 'firstName', e.first_name, "
+            + "'lastName', e.last_name, 'email', e.email, 'active', e.active, 'version', e.version, "
+            + "'updatedAt', rtrim(rtrim(to_char(e.updated_at at time zone 'UTC', "
+            + "'YYYY-MM-DD\"T\"HH24:MI:SS.US'), '0'), '.') || 'Z') as text)";
+
+    /**
+     * Published changes after the given position, served by the unique index on {@code seq}.
+     */
+    @Query("select new com.martikan.springtestdemo.dto.EmployeeChangeDTO(c.seq, c.employeeId, c.type, c.payload, "
+            + "c.createdAt) from EmployeeChange c where c.seq > :since order by c.seq")
+    List<EmployeeChangeDTO> findPublishedAfter(@Param("since") final Long since, final Pageable pageable);
+
+    /**
+     * Oldest unpublished changes, served by the partial index {@code employee_changes_unpublished_idx}.
+     */
+    @Query("from EmployeeChange c where c.seq is null order by c.id")
+    List<EmployeeChange> findUnpublished(final Pageable pageable);
+
+    /**
+     * Deletes the oldest published changes before the given time, walking the unique index on {@code seq}.
+     *
+     * @return number of deleted changes, less than the limit once none are left
+     */
+    @Modifying
+    @Query(value = "delete from employee_changes where id in (select c.id from employee_changes c "
+            + "where c.seq is not null and c.published_at < :before order by c.seq limit :limit)",
+            nativeQuery = true)
+    int deletePublishedBefore(@Param("before") final ZonedDateTime before, @Param("limit") final int limit);
+
+    @Query(value = "select nextval('employee_changes_seq_seq') from generate_series(1, :count)", nativeQuery = true)
+    List<Long> nextSeqs(@Param("count") final int count);
+
+    /**
+     * Transaction scoped advisory lock, so only one relay (across all instances) publishes at a time.
+     *
+     * @return whether the lock has been acquired
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockRelay(@Param("key") final long key);
+}
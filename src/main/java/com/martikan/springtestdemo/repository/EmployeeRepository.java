@@ -1,18 +1,159 @@
 package com.martikan.springtestdemo.repository;
 
 import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-    Optional<Employee> findByEmail(final String email);
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
-    boolean existsEmployeeByEmail(final String email);
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeRepositoryCustom {
+    /**
+     * Selects the employee straight into an {@link EmployeeDTO}, without loading the entity.
+     */
+    @Query("select new com.martikan.springtestdemo.dto.EmployeeDTO(e.id, e.firstName, e.lastName, e.email, e.active, "
+            + "e.version, e.updatedAt) from Employee e where e.id = :id")
+    Optional<EmployeeDTO> findDTOById(@Param("id") final Long id);
+
+    /**
+     * Case-insensitive lookup, served by the unique {@code lower(email)} index.
+     */
+    @Query("from Employee e where lower(e.email) = lower(:email)")
+    Optional<Employee> findByEmail(@Param("email") final String email);
+
+    /**
+     * Returns the given emails which are already taken, compared case-insensitively.
+     *
+     * @param emails lower-cased emails
+     * @return lower-cased emails of the existing employees
+     */
+    @Query("select lower(e.email) from Employee e where lower(e.email) in :emails")
+    Set<String> findExistingEmails(@Param("emails") final Collection<String> emails);
 
     @Query("from Employee e where e.firstName = :firstName and e.lastName = :lastName")
     Optional<Employee> findEmployeeByFirstNameAndLastName(@Param("firstName") final String firstName,
                                                           @Param("lastName") final String lastName);
+
+    /**
+     * Keyset (seek) pagination: reads the next page after the given id without OFFSET and count query,
+     * selected straight into DTOs.
+     */
+    @Query("select new com.martikan.springtestdemo.dto.EmployeeDTO(e.id, e.firstName, e.lastName, e.email, e.active, "
+            + "e.version, e.updatedAt) from Employee e where e.id > :after order by e.id")
+    List<EmployeeDTO> findAllDTOsAfterId(@Param("after") final Long after, final Pageable pageable);
+
+    /**
+     * Ranked type-ahead search over first name, last name and email. Rows match on the full-text prefix query or
+     * on a prefix of any of the three columns, both served by the GIN indexes of {@code create_employee_search_indexes}.
+     * Results are ordered by rank and id and paginated by keyset on that pair, pass {@link Float#MAX_VALUE}
+     * and 0 for the first page. The rank can't be indexed, so every page ranks all matching rows before the keyset
+     * filter and a top-N sort: the cost grows with the number of matches, not with the page depth.
+     */
+    @Query(value = "select r.* from ("
+            + "select e.id as \"id\", e.first_name as \"firstName\", e.last_name as \"lastName\", "
+            + "e.email as \"email\", e.active as \"active\", e.version as \"version\", "
+            + "e.updated_at as \"updatedAt\", "
+            + "ts_rank(to_tsvector('simple', e.first_name || ' ' || e.last_name || ' ' || e.email), q) as \"rank\" "
+            + "from employees e, to_tsquery('simple', :tsQuery) q "
+            + "where to_tsvector('simple', e.first_name || ' ' || e.last_name || ' ' || e.email) @@ q "
+            + "or e.first_name ilike :pattern or e.last_name ilike :pattern or e.email ilike :pattern"
+            + ") r "
+            + "where r.\"rank\" < cast(:afterRank as real) "
+            + "or (r.\"rank\" = cast(:afterRank as real) and r.\"id\" > :afterId) "
+            + "order by r.\"rank\" desc, r.\"id\" "
+            + "limit :limit",
+            nativeQuery = true)
+    List<EmployeeSearchResult> searchEmployees(@Param("tsQuery") final String tsQuery,
+                                               @Param("pattern") final String pattern,
+                                               @Param("afterRank") final Float afterRank,
+                                               @Param("afterId") final Long afterId,
+                                               @Param("limit") final int limit);
+
+    /**
+     * Streams every employee through a JDBC cursor, must be consumed (and closed) inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    /**
+     * Updates the employee and increments its version with a single statement, without loading it first.
+     * With an expected version the row is only updated if it still has that version (optimistic locking).
+     * The same statement records the change in the outbox.
+     *
+     * @param expectedVersion version the employee must have, {@code null} to update it unconditionally
+     * @return the new version, empty if the employee does not exist or has another version
+     */
+    @Transactional
+    @Query(value = "with updated as ("
+            + "update employees set first_name = :firstName, last_name = :lastName, email = :email, "
+            + "active = :active, updated_at = :updatedAt, version = version + 1 "
+            + "where id = :id and (cast(:expectedVersion as bigint) is null "
+            + "or version = cast(:expectedVersion as bigint)) "
+            + "returning *"
+            + "), changes as ("
+            + "insert into employee_changes (employee_id, type, payload) "
+            + "select e.id, 'UPDATED', " + EmployeeChangeRepository.EMPLOYEE_PAYLOAD + " from updated e"
+            + ") "
+            + "select e.version from updated e",
+            nativeQuery = true)
+    Optional<Long> updateEmployee(@Param("id") final Long id,
+                                  @Param("firstName") final String firstName,
+                                  @Param("lastName") final String lastName,
+                                  @Param("email") final String email,
+                                  @Param("active") final Boolean active,
+                                  @Param("expectedVersion") final Long expectedVersion,
+                                  @Param("updatedAt") final ZonedDateTime updatedAt);
+
+    /**
+     * Flips the active flag of the given employees with a single statement, rows already in the state are skipped.
+     * The same statement records a change per updated row in the outbox.
+     *
+     * @return number of updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "with updated as ("
+            + "update employees e set active = :active, updated_at = :updatedAt, version = e.version + 1 "
+            + "where e.id in :ids and e.active <> :active "
+            + "returning *"
+            + ") "
+            + "insert into employee_changes (employee_id, type, payload) "
+            + "select e.id, 'UPDATED', " + EmployeeChangeRepository.EMPLOYEE_PAYLOAD + " from updated e",
+            nativeQuery = true)
+    int updateActiveByIds(@Param("ids") final Collection<Long> ids,
+                          @Param("active") final Boolean active,
+                          @Param("updatedAt") final ZonedDateTime updatedAt);
+
+    /**
+     * Deletes the employee with a single statement, unlike {@link #deleteById(Object)} which loads it first.
+     * The same statement records the change in the outbox.
+     *
+     * @return number of deleted rows, 0 if the employee does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "with deleted as (delete from employees where id = :id returning id) "
+            + "insert into employee_changes (employee_id, type) select d.id, 'DELETED' from deleted d",
+            nativeQuery = true)
+    int deleteEmployeeById(@Param("id") final Long id);
 }
@@ -0,0 +1,27 @@
+package com.martikan.springtestdemo.repository;
+
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Selects the page straight into {@link EmployeeDTO}s with a constructor expression, no entity is loaded
+     * into the persistence context. Unlike {@code findAll(Specification, Pageable)} no count query is run.
+     */
+    List<EmployeeDTO> findAllDTOs(final Specification<Employee> spec, final Pageable pageable);
+
+    /**
+     * Updates the employees with a single statement, joining the table with the unnested columns of the DTOs.
+     * A DTO with a version is only applied if the employee still has that version. The same statement records
+     * a change per updated row in the outbox.
+     *
+     * @return ids of the updated employees, the ones missing do not exist or have another version
+     */
+    List<Long> updateEmployees(final List<EmployeeDTO> employees, final ZonedDateTime updatedAt);
+}
@@ -0,0 +1,107 @@
+package com.martikan.springtestdemo.repository;
+
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    private static final String UPDATE_EMPLOYEES = "with input as ("
+            + "select * from unnest(?, ?, ?, ?, ?, ?) "
+            + "as u(id, first_name, last_name, email, active, expected_version)"
+            + "), updated as ("
+            + "update employees e set first_name = u.first_name, last_name = u.last_name, email = u.email, "
+            + "active = u.active, updated_at = ?, version = e.version + 1 "
+            + "from input u "
+            + "where e.id = u.id and (u.expected_version is null or e.version = u.expected_version) "
+            + "returning e.*"
+            + "), changes as ("
+            + "insert into employee_changes (employee_id, type, payload) "
+            + "select e.id, 'UPDATED', " + EmployeeChangeRepository.EMPLOYEE_PAYLOAD + " from updated e"
+            + ") "
+            + "select e.id from updated e";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<EmployeeDTO> findAllDTOs(final Specification<Employee> spec, final Pageable pageable) {
+        final var cb = entityManager.getCriteriaBuilder();
+        final var query = cb.createQuery(EmployeeDTO.class);
+        final var root = query.from(Employee.class);
+        query.select(cb.construct(EmployeeDTO.class, root.get("id"), root.get("firstName"), root.get("lastName"),
+                root.get("email"), root.get("active"), root.get("version"), root.get("updatedAt")));
+        if (spec != null) {
+            final var predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        final var typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Plain JDBC on the connection of the current transaction: the columns are bound as arrays, so the statement
+     * is the same whatever the number of employees and stays in the prepared statement cache.
+     */
+    @Override
+    @Transactional
+    public List<Long> updateEmployees(final List<EmployeeDTO> employees, final ZonedDateTime updatedAt) {
+        if (employees.isEmpty()) {
+            return List.of();
+        }
+
+        final var size = employees.size();
+        final var ids = new Long[size];
+        final var firstNames = new String[size];
+        final var lastNames = new String[size];
+        final var emails = new String[size];
+        final var actives = new Boolean[size];
+        final var expectedVersions = new Long[size];
+        for (int i = 0; i < size; i++) {
+            final var employee = employees.get(i);
+            ids[i] = employee.getId();
+            firstNames[i] = employee.getFirstName();
+            lastNames[i] = employee.getLastName();
+            emails[i] = employee.getEmail();
+            actives[i] = employee.isActive();
+            expectedVersions[i] = employee.getVersion();
+        }
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (final var statement = connection.prepareStatement(UPDATE_EMPLOYEES)) {
+                statement.setArray(1, connection.createArrayOf("bigint", ids));
+                statement.setArray(2, connection.createArrayOf("varchar", firstNames));
+                statement.setArray(3, connection.createArrayOf("varchar", lastNames));
+                statement.setArray(4, connection.createArrayOf("varchar", emails));
+                statement.setArray(5, connection.createArrayOf("boolean", actives));
+                statement.setArray(6, connection.createArrayOf("bigint", expectedVersions));
+                statement.setObject(7, updatedAt.toOffsetDateTime());
+                try (final var resultSet = statement.executeQuery()) {
+                    final var updatedIds = new ArrayList<Long>(size);
+                    while (resultSet.next()) {
+                        updatedIds.add(resultSet.getLong(1));
+                    }
+                    return updatedIds;
+                }
+            }
+        });
+    }
+}
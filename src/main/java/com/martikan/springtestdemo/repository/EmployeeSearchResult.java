@@ -0,0 +1,24 @@
+package com.martikan.springtestdemo.repository;
+
+import java.time.Instant;
+
+/**
+ * Row of the employee search, the employee columns and the full-text rank used as the keyset cursor.
+ */
+public interface EmployeeSearchResult {
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    Boolean getActive();
+
+    Long getVersion();
+
+    Instant getUpdatedAt();
+
+    Float getRank();
+}
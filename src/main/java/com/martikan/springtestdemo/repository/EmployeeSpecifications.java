@@ -0,0 +1,35 @@
+package com.martikan.springtestdemo.repository;
+
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Filters of the employee list, the combinations are served by the {@code (active, created_at, id)}
+ * and {@code (created_at, id)} indexes.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(final EmployeeFilterDTO filter) {
+        return Specification.where(isActive(filter.getActive()))
+                .and(createdFrom(filter.getCreatedFrom()))
+                .and(createdBefore(filter.getCreatedTo()));
+    }
+
+    public static Specification<Employee> isActive(final Boolean active) {
+        return active == null ? null : (root, query, cb) -> cb.equal(root.get("active"), active);
+    }
+
+    public static Specification<Employee> createdFrom(final ZonedDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Employee> createdBefore(final ZonedDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+}
@@ -0,0 +1,74 @@
+package com.martikan.springtestdemo.repository;
+
+import com.martikan.springtestdemo.domain.ReactiveEmployee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.ZonedDateTime;
+
+public interface ReactiveEmployeeRepository extends R2dbcRepository<ReactiveEmployee, Long> {
+    Flux<ReactiveEmployee> findAllBy(final Pageable pageable);
+
+    @Query("SELECT * FROM employees ORDER BY id")
+    Flux<ReactiveEmployee> streamAll();
+
+    /**
+     * Inserts the employee and records the change in the outbox with the same statement, unlike
+     * {@link #save(Object)}. The changes are published by the relay of the servlet stack, which shares the table.
+     *
+     * @return the inserted employee
+     */
+    @Query("WITH inserted AS ("
+            + "INSERT INTO employees (first_name, last_name, email, active, created_at, updated_at, version) "
+            + "VALUES (:firstName, :lastName, :email, :active, :createdAt, :updatedAt, 0) "
+            + "RETURNING *"
+            + "), changes AS ("
+            + "INSERT INTO employee_changes (employee_id, type, payload) "
+            + "SELECT e.id, 'CREATED', " + EmployeeChangeRepository.EMPLOYEE_PAYLOAD + " FROM inserted e"
+            + ") "
+            + "SELECT * FROM inserted")
+    Mono<ReactiveEmployee> insertEmployee(@Param("firstName") final String firstName,
+                                          @Param("lastName") final String lastName,
+                                          @Param("email") final String email,
+                                          @Param("active") final Boolean active,
+                                          @Param("createdAt") final ZonedDateTime createdAt,
+                                          @Param("updatedAt") final ZonedDateTime updatedAt);
+
+    /**
+     * Same as {@code EmployeeRepository#updateEmployee}: emits the new version, nothing if the employee does not
+     * exist or has another version than the expected one. The same statement records the change in the outbox.
+     */
+    @Query("WITH updated AS ("
+            + "UPDATE employees SET first_name = :firstName, last_name = :lastName, email = :email, "
+            + "active = :active, updated_at = :updatedAt, version = version + 1 "
+            + "WHERE id = :id AND (CAST(:expectedVersion AS BIGINT) IS NULL "
+            + "OR version = CAST(:expectedVersion AS BIGINT)) "
+            + "RETURNING *"
+            + "), changes AS ("
+            + "INSERT INTO employee_changes (employee_id, type, payload) "
+            + "SELECT e.id, 'UPDATED', " + EmployeeChangeRepository.EMPLOYEE_PAYLOAD + " FROM updated e"
+            + ") "
+            + "SELECT e.version FROM updated e")
+    Mono<Long> updateEmployee(@Param("id") final Long id,
+                              @Param("firstName") final String firstName,
+                              @Param("lastName") final String lastName,
+                              @Param("email") final String email,
+                              @Param("active") final Boolean active,
+                              @Param("expectedVersion") final Long expectedVersion,
+                              @Param("updatedAt") final ZonedDateTime updatedAt);
+
+    /**
+     * Deletes the employee and records the change in the outbox with the same statement.
+     *
+     * @return number of deleted rows, 0 if the employee does not exist
+     */
+    @Modifying
+    @Query("WITH deleted AS (DELETE FROM employees WHERE id = :id RETURNING id) "
+            + "INSERT INTO employee_changes (employee_id, type) SELECT d.id, 'DELETED' FROM deleted d")
+    Mono<Integer> deleteEmployeeById(@Param("id") final Long id);
+}
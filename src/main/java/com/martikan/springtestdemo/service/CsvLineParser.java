@@ -0,0 +1,46 @@
+package com.martikan.springtestdemo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 line parser: quoted fields may contain commas and escaped quotes, but not line breaks.
+ */
+final class CsvLineParser {
+
+    private CsvLineParser() {
+    }
+
+    static List<String> parse(final String line) {
+        final var fields = new ArrayList<String>();
+        final var field = new StringBuilder();
+        var quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final var c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
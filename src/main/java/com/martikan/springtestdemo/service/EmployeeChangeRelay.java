@@ -0,0 +1,98 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.config.OutboxProperties;
+import com.martikan.springtestdemo.domain.Timestamps;
+import com.martikan.springtestdemo.mapper.EmployeeChangeMapper;
+import com.martikan.springtestdemo.repository.EmployeeChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes the recorded employee changes to the {@link EmployeeChangeSink} in batches.
+ * <p>
+ * Outbox ids follow the order of insertion, not of commit, so a change committed late can have a lower id than
+ * an already published one. The position consumers sync by ({@code seq}) is therefore assigned here, by a single
+ * relay at a time: it only grows with the order of publication, and no change can appear behind it later.
+ * Published changes are purged after the retention period.
+ */
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Component
+public class EmployeeChangeRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x656d706c6f796565L;
+
+    private final EmployeeChangeRepository changeRepository;
+
+    private final EmployeeChangeMapper mapper;
+
+    private final EmployeeChangeSink sink;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OutboxProperties properties;
+
+    /**
+     * Publishes all pending changes, a batch per transaction.
+     *
+     * @return number of published changes
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval:PT1S}")
+    public int relayChanges() {
+        var total = 0;
+        int published;
+        do {
+            published = transactionTemplate.execute(status -> relayBatch());
+            total += published;
+        } while (published == properties.getBatchSize());
+
+        return total;
+    }
+
+    /**
+     * Deletes the published changes older than the retention period, a batch per transaction. Unpublished changes
+     * are kept however old they are.
+     *
+     * @return number of deleted changes
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.retention.interval:PT1H}")
+    public int purgePublishedChanges() {
+        final var before = Timestamps.now().minus(properties.getRetention().getPeriod());
+        var total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    changeRepository.deletePublishedBefore(before, properties.getBatchSize()));
+            total += deleted;
+        } while (deleted == properties.getBatchSize());
+
+        return total;
+    }
+
+    private int relayBatch() {
+        // Another instance is relaying, it will also pick up our changes
+        if (!changeRepository.tryLockRelay(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+
+        final var changes = changeRepository.findUnpublished(PageRequest.ofSize(properties.getBatchSize()));
+        if (changes.isEmpty()) {
+            return 0;
+        }
+
+        final var seqs = changeRepository.nextSeqs(changes.size()).stream().sorted().toList();
+        final var publishedAt = Timestamps.now();
+        for (int i = 0; i < changes.size(); i++) {
+            changes.get(i).setSeq(seqs.get(i));
+            changes.get(i).setPublishedAt(publishedAt);
+        }
+
+        // Published before the commit: if the commit fails the batch is published again (at-least-once)
+        sink.publish(changes.stream().map(mapper::toDTO).toList());
+        return changes.size();
+    }
+}
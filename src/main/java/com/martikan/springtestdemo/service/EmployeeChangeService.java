@@ -0,0 +1,19 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.domain.EmployeeChangeType;
+import com.martikan.springtestdemo.dto.EmployeeChangeDTO;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+
+import java.util.List;
+
+public interface EmployeeChangeService {
+    /**
+     * Records the changes in the outbox, must be called in the transaction of the change itself.
+     */
+    void recordChanges(final EmployeeChangeType type, final List<EmployeeDTO> employees);
+
+    /**
+     * Published changes after the given position, oldest first.
+     */
+    List<EmployeeChangeDTO> getChangesAfter(final long since, final int size);
+}
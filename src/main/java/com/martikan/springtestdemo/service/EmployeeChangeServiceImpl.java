@@ -0,0 +1,72 @@
+package com.martikan.springtestdemo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.springtestdemo.domain.EmployeeChange;
+import com.martikan.springtestdemo.domain.EmployeeChangeType;
+import com.martikan.springtestdemo.dto.EmployeeChangeDTO;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.repository.EmployeeChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Service
+public class EmployeeChangeServiceImpl implements EmployeeChangeService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final EmployeeChangeRepository changeRepository;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Mandatory propagation: a change recorded outside the transaction of the mutation could get lost or be
+     * published for a mutation which has been rolled back.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(final EmployeeChangeType type, final List<EmployeeDTO> employees) {
+        final var changes = new ArrayList<EmployeeChange>(employees.size());
+        for (final var employee : employees) {
+            final var change = new EmployeeChange();
+            change.setEmployeeId(employee.getId());
+            change.setType(type);
+            change.setPayload(type == EmployeeChangeType.DELETED ? null : toJson(employee));
+            changes.add(change);
+        }
+
+        // Inserted in JDBC batches thanks to the pooled id sequence
+        changeRepository.saveAll(changes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeChangeDTO> getChangesAfter(final long since, final int size) {
+        if (since < 0) {
+            throw new BadRequestException("Position must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        return changeRepository.findPublishedAfter(since, PageRequest.ofSize(size));
+    }
+
+    private String toJson(final EmployeeDTO employee) {
+        try {
+            return objectMapper.writeValueAsString(employee);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize employee " + employee.getId(), e);
+        }
+    }
+}
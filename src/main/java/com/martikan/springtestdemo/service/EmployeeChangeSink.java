@@ -0,0 +1,18 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.dto.EmployeeChangeDTO;
+
+import java.util.List;
+
+/**
+ * Destination of the employee changes relayed from the outbox.
+ */
+public interface EmployeeChangeSink {
+    /**
+     * Publishes the changes in the given order. Delivery is at-least-once: if the relay can't mark the changes
+     * as published afterwards, they are published again.
+     *
+     * @throws RuntimeException if the changes could not be published, they are retried by the next run
+     */
+    void publish(final List<EmployeeChangeDTO> changes);
+}
@@ -0,0 +1,9 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.dto.EmployeeImportReportDTO;
+
+import java.io.InputStream;
+
+public interface EmployeeImportService {
+    EmployeeImportReportDTO importEmployees(final InputStream csv);
+}
@@ -0,0 +1,262 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.config.EmployeeImportConfig;
+import com.martikan.springtestdemo.config.EmployeeImportProperties;
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.domain.EmployeeChangeType;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeImportReportDTO;
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.mapper.EmployeeMapper;
+import com.martikan.springtestdemo.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+@Profile("!reactive")
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstname", "lastname", "email");
+
+    private final EmployeeRepository employeeRepository;
+
+    private final EmployeeMapper mapper;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManager entityManager;
+
+    private final EmployeeChangeService changeService;
+
+    private final AsyncTaskExecutor executor;
+
+    private final int parallelism;
+
+    public EmployeeImportServiceImpl(final EmployeeRepository employeeRepository,
+                                     final EmployeeMapper mapper,
+                                     final Validator validator,
+                                     final TransactionTemplate transactionTemplate,
+                                     final EntityManager entityManager,
+                                     final EmployeeChangeService changeService,
+                                     @Qualifier(EmployeeImportConfig.IMPORT_EXECUTOR)
+                                     final AsyncTaskExecutor executor,
+                                     final EmployeeImportProperties properties) {
+        this.employeeRepository = employeeRepository;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.changeService = changeService;
+        this.executor = executor;
+        this.parallelism = properties.getWorkers();
+    }
+
+    /**
+     * Reads the CSV line by line, validates chunks of rows in parallel and writes them in order,
+     * each chunk in its own transaction with batched inserts. Only a bounded number of chunks is in memory at once.
+     * The validators are shared by all imports.
+     */
+    @Override
+    public EmployeeImportReportDTO importEmployees(final InputStream csv) {
+        final var startedAt = System.nanoTime();
+        final var report = new Report();
+        final var inFlight = new ArrayDeque<Future<ValidatedChunk>>();
+        try (final var reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            final var columns = readHeader(reader.readLine());
+            var chunk = new ArrayList<CsvRow>(CHUNK_SIZE);
+            var lineNumber = 1L;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                chunk.add(new CsvRow(lineNumber, line));
+                if (chunk.size() == CHUNK_SIZE) {
+                    final var rows = chunk;
+                    inFlight.add(executor.submit(() -> validate(rows, columns)));
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                    // Back-pressure: don't read further ahead than the validators can keep up with
+                    if (inFlight.size() > parallelism) {
+                        write(inFlight.poll().get(), report);
+                    }
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                final var rows = chunk;
+                inFlight.add(executor.submit(() -> validate(rows, columns)));
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.poll().get(), report);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read the CSV file");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Employee import has been interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Employee import failed", e.getCause());
+        } finally {
+            // Leaves the shared validators to the other imports if this one failed
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        final var durationMillis = Math.max(1L, (System.nanoTime() - startedAt) / 1_000_000L);
+        final var totalRows = report.imported + report.rejected;
+        return new EmployeeImportReportDTO(totalRows, report.imported, report.rejected, report.rejections,
+                durationMillis, totalRows * 1000.0 / durationMillis);
+    }
+
+    private static Map<String, Integer> readHeader(final String header) {
+        if (header == null) {
+            throw new BadRequestException("CSV file is empty");
+        }
+
+        final var columns = new HashMap<String, Integer>();
+        final var names = CsvLineParser.parse(header);
+        for (int i = 0; i < names.size(); i++) {
+            // Accept both camelCase and snake_case column names
+            columns.put(names.get(i).replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new BadRequestException("CSV header must contain the columns firstName, lastName and email");
+        }
+
+        return columns;
+    }
+
+    private ValidatedChunk validate(final List<CsvRow> rows, final Map<String, Integer> columns) {
+        final var valid = new ArrayList<ValidRow>(rows.size());
+        final var rejections = new ArrayList<EmployeeImportReportDTO.Rejection>();
+        for (final var row : rows) {
+            try {
+                final var dto = toDTO(CsvLineParser.parse(row.content()), columns);
+                final var violations = validator.validate(dto);
+                if (violations.isEmpty()) {
+                    valid.add(new ValidRow(row.line(), dto));
+                } else {
+                    rejections.add(new EmployeeImportReportDTO.Rejection(row.line(), violations.stream()
+                            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", "))));
+                }
+            } catch (IllegalArgumentException e) {
+                rejections.add(new EmployeeImportReportDTO.Rejection(row.line(), e.getMessage()));
+            }
+        }
+
+        return new ValidatedChunk(valid, rejections);
+    }
+
+    private static EmployeeDTO toDTO(final List<String> fields, final Map<String, Integer> columns) {
+        if (fields.size() < columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " columns but got " + fields.size());
+        }
+
+        final var dto = new EmployeeDTO();
+        dto.setFirstName(emptyToNull(fields.get(columns.get("firstname"))));
+        dto.setLastName(emptyToNull(fields.get(columns.get("lastname"))));
+        dto.setEmail(emptyToNull(fields.get(columns.get("email"))));
+        final var active = columns.containsKey("active") ? fields.get(columns.get("active")) : "";
+        // Same default as the Employee entity
+        dto.setActive(active.isEmpty() || Boolean.parseBoolean(active));
+        return dto;
+    }
+
+    private static String emptyToNull(final String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private void write(final ValidatedChunk chunk, final Report report) {
+        chunk.rejections().forEach(report::reject);
+        if (chunk.valid().isEmpty()) {
+            return;
+        }
+
+        final var duplicates = new ArrayList<EmployeeImportReportDTO.Rejection>();
+        final Integer imported = transactionTemplate.execute(status -> {
+            // Earlier chunks are already committed, so this also catches duplicates across chunks
+            final var existingEmails = employeeRepository.findExistingEmails(chunk.valid().stream()
+                    .map(row -> row.dto().getEmail().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet()));
+            final var chunkEmails = new HashSet<String>();
+            final var employees = new ArrayList<Employee>(chunk.valid().size());
+            for (final var row : chunk.valid()) {
+                final var email = row.dto().getEmail().toLowerCase(Locale.ROOT);
+                if (existingEmails.contains(email) || !chunkEmails.add(email)) {
+                    duplicates.add(new EmployeeImportReportDTO.Rejection(row.line(),
+                            "Employee already exist with the given email"));
+                } else {
+                    employees.add(mapper.toEntity(row.dto()));
+                }
+            }
+
+            final var savedEmployees = employeeRepository.saveAll(employees);
+            changeService.recordChanges(EmployeeChangeType.CREATED,
+                    savedEmployees.stream().map(mapper::toDTO).toList());
+            employeeRepository.flush();
+            // Detach the written chunk, so the persistence context does not grow with the file size
+            entityManager.clear();
+            return employees.size();
+        });
+
+        // Only counted once the chunk is committed, a failed commit fails the import
+        duplicates.forEach(report::reject);
+        report.imported += imported == null ? 0 : imported;
+    }
+
+    private record CsvRow(long line, String content) {
+    }
+
+    private record ValidRow(long line, EmployeeDTO dto) {
+    }
+
+    private record ValidatedChunk(List<ValidRow> valid, List<EmployeeImportReportDTO.Rejection> rejections) {
+    }
+
+    private static final class Report {
+
+        private long imported;
+
+        private long rejected;
+
+        private final List<EmployeeImportReportDTO.Rejection> rejections = new ArrayList<>();
+
+        private void reject(final EmployeeImportReportDTO.Rejection rejection) {
+            rejected++;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(rejection);
+            }
+        }
+    }
+}
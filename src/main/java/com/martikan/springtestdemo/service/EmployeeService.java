@@ -1,18 +1,47 @@
 package com.martikan.springtestdemo.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.martikan.springtestdemo.dto.CursorPageDTO;
+import com.martikan.springtestdemo.dto.EmployeeBulkResultDTO;
 import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
-    List<EmployeeDTO> getAllEmployees(final Pageable pageable);
+    List<EmployeeDTO> getAllEmployees(final EmployeeFilterDTO filter, final Pageable pageable);
+
+    CursorPageDTO<EmployeeDTO> getEmployeesAfter(final String cursor, final int size);
+
+    CursorPageDTO<EmployeeDTO> searchEmployees(final String query, final String cursor, final int size);
+
+    void exportEmployees(final Consumer<EmployeeDTO> consumer);
 
     EmployeeDTO getEmployeeById(final Long id);
 
-    EmployeeDTO updateEmployee(final EmployeeDTO dto);
+    /**
+     * Updates the employee. If the DTO has a version, it is only updated if it still has that version.
+     *
+     * @param ifMatchVersion version from an {@code If-Match} header, takes precedence over the version of the DTO
+     */
+    EmployeeDTO updateEmployee(final EmployeeDTO dto, final Long ifMatchVersion);
+
+    EmployeeDTO patchEmployee(final Long id, final JsonNode patch);
+
+    int updateEmployeesActive(final List<Long> ids, final boolean active);
+
+    /**
+     * Updates the employees in one transaction and statement, a DTO with a version only if it is still current.
+     *
+     * @return ids of the updated employees, the others do not exist or have been modified in the meantime
+     */
+    List<Long> updateEmployees(final List<EmployeeDTO> dtos);
 
     EmployeeDTO saveEmployee(final EmployeeDTO dto);
 
+    List<EmployeeBulkResultDTO> saveEmployees(final List<EmployeeDTO> dtos);
+
     void deleteEmployee(final Long id);
 }
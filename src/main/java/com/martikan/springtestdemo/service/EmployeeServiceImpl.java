@@ -1,59 +1,480 @@
 package com.martikan.springtestdemo.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.springtestdemo.config.CacheConfig;
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.domain.EmployeeChangeType;
+import com.martikan.springtestdemo.domain.Timestamps;
+import com.martikan.springtestdemo.dto.CursorPageDTO;
+import com.martikan.springtestdemo.dto.EmployeeBulkResultDTO;
 import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
 import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.exception.ConflictException;
+import com.martikan.springtestdemo.exception.PreconditionFailedException;
 import com.martikan.springtestdemo.exception.ResourceNotFoundException;
 import com.martikan.springtestdemo.mapper.EmployeeMapper;
 import com.martikan.springtestdemo.repository.EmployeeRepository;
+import com.martikan.springtestdemo.repository.EmployeeSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
+    private static final int MAX_BULK_SIZE = 5000;
+
+    private static final int MIN_SEARCH_QUERY_LENGTH = 2;
+
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+
+    private static final String SEARCH_CURSOR_SEPARATOR = ":";
+
+    private static final String EMAIL_UNIQUE_INDEX = "employees_email_lower_key";
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "createdAt");
+
+    private static final Pattern NON_WORD_CHARACTERS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     private final EmployeeRepository employeeRepository;
 
     private final EmployeeMapper mapper;
 
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final EmployeeChangeService changeService;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Only the indexed properties can be sorted by, so a request can't force a sort of the whole table.
+     * Rows are selected straight into DTOs, so no entity snapshots are taken and nothing is flushed.
+     */
     @Override
-    public List<EmployeeDTO> getAllEmployees(final Pageable pageable) {
-        return employeeRepository.findAll(pageable)
-                .map(mapper::toDTO)
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> getAllEmployees(final EmployeeFilterDTO filter, final Pageable pageable) {
+        if (filter.getCreatedFrom() != null && filter.getCreatedTo() != null
+                && !filter.getCreatedFrom().isBefore(filter.getCreatedTo())) {
+            throw new BadRequestException("createdFrom must be before createdTo");
+        }
+
+        return employeeRepository.findAllDTOs(EmployeeSpecifications.matching(filter), withStableSort(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeDTO> getEmployeesAfter(final String cursor, final int size) {
+        checkCursorPageSize(size);
+
+        // Fetch one extra row to know whether there is a next page without running a count query
+        final var employees = employeeRepository.findAllDTOsAfterId(decodeIdCursor(cursor),
+                PageRequest.ofSize(size + 1));
+        final var content = employees.size() > size ? List.copyOf(employees.subList(0, size)) : employees;
+        final var nextCursor = employees.size() > size
+                ? encodeCursor(String.valueOf(content.get(content.size() - 1).getId()))
+                : null;
+        return new CursorPageDTO<>(content, nextCursor);
+    }
+
+    /**
+     * Type-ahead search: every word of the query is matched as a prefix of the names or the email,
+     * the whole query as a prefix of any of them. Pages are sought by (rank, id) instead of an offset, yet each page
+     * still ranks every match, see {@link EmployeeRepository#searchEmployees}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeDTO> searchEmployees(final String query, final String cursor, final int size) {
+        final var term = query == null ? "" : query.strip();
+        if (term.length() < MIN_SEARCH_QUERY_LENGTH || term.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be between " + MIN_SEARCH_QUERY_LENGTH + " and "
+                    + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        checkCursorPageSize(size);
+
+        final var after = decodeSearchCursor(cursor);
+        final var results = employeeRepository.searchEmployees(toPrefixTsQuery(term), toPrefixPattern(term),
+                after.rank(), after.id(), size + 1);
+        final var content = results.stream()
+                .limit(size)
+                .map(mapper::searchResultToDTO)
                 .toList();
+        final String nextCursor;
+        if (results.size() > size) {
+            final var last = results.get(size - 1);
+            nextCursor = encodeCursor(last.getRank() + SEARCH_CURSOR_SEPARATOR + last.getId());
+        } else {
+            nextCursor = null;
+        }
+        return new CursorPageDTO<>(content, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(final Consumer<EmployeeDTO> consumer) {
+        try (final var employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(mapper.toDTO(employee));
+                // Keep the persistence context empty, so heap usage does not grow with the table size
+                entityManager.detach(employee);
+            });
+        }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    @Transactional(readOnly = true)
     public EmployeeDTO getEmployeeById(final Long id) {
-        return employeeRepository.findById(id)
-                .map(mapper::toDTO)
+        return employeeRepository.findDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with the given ID"));
     }
 
+    /**
+     * The version is compared and incremented in the update statement, so a concurrent change can't slip in
+     * between and no row lock is held beyond the statement. Only if no row was updated is it checked whether
+     * the employee exists at all: a stale {@code If-Match} is answered with 412, a stale version in the body with 409.
+     */
     @Override
-    public EmployeeDTO updateEmployee(final EmployeeDTO dto) {
-        // Check is employee exist
-        getEmployeeById(dto.getId());
-        return mapper.toDTO(employeeRepository.save(mapper.toEntity(dto)));
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.id")
+    @Transactional
+    public EmployeeDTO updateEmployee(final EmployeeDTO dto, final Long ifMatchVersion) {
+        final var expectedVersion = ifMatchVersion != null ? ifMatchVersion : dto.getVersion();
+        final var updatedAt = Timestamps.now();
+        final Optional<Long> version;
+        try {
+            version = employeeRepository.updateEmployee(dto.getId(), dto.getFirstName(), dto.getLastName(),
+                    dto.getEmail(), dto.isActive(), expectedVersion, updatedAt);
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailViolation(e);
+        }
+        if (version.isEmpty()) {
+            if (expectedVersion == null || !employeeRepository.existsById(dto.getId())) {
+                throw new ResourceNotFoundException("Employee not found with the given ID");
+            }
+            if (ifMatchVersion != null) {
+                throw new PreconditionFailedException("Employee has been modified in the meantime");
+            }
+            throw new ConflictException("Employee has been modified in the meantime");
+        }
+
+        dto.setVersion(version.get());
+        dto.setUpdatedAt(updatedAt);
+        return dto;
     }
 
+    /**
+     * Applies a JSON Merge Patch (RFC 7396). Thanks to dynamic update only the changed columns are written,
+     * {@code createdAt} is never touched, {@code updatedAt} and the version are always bumped. A version in the
+     * patch must match the current one, a concurrent update between the read and the flush is caught by the
+     * optimistic lock.
+     */
     @Override
-    public EmployeeDTO saveEmployee(final EmployeeDTO dto) {
-        if (employeeRepository.existsEmployeeByEmail(dto.getEmail())) {
-            throw new BadRequestException("Employee already exist with the given email");
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.id")
+    public EmployeeDTO patchEmployee(final Long id, final JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("Merge patch must be a JSON object");
+        }
+
+        final var employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with the given ID"));
+        final var dto = mapper.toDTO(employee);
+        try {
+            objectMapper.readerForUpdating(dto).readValue(patch);
+        } catch (IOException e) {
+            throw new BadRequestException("Invalid merge patch");
+        }
+
+        dto.setId(id);
+        final var violations = validate(dto);
+        if (violations != null) {
+            throw new BadRequestException(violations);
         }
 
+        if (dto.getVersion() != null && !dto.getVersion().equals(employee.getVersion())) {
+            throw new ConflictException("Employee has been modified in the meantime");
+        }
+
+        mapper.updateEntity(dto, employee);
+        employee.setUpdatedAt(Timestamps.now());
+        try {
+            // Flushed here, so the conflict is reported as such and the new version can be returned
+            employeeRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflictException("Employee has been modified in the meantime");
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailViolation(e);
+        }
+
+        dto.setVersion(employee.getVersion());
+        dto.setUpdatedAt(employee.getUpdatedAt());
+        changeService.recordChanges(EmployeeChangeType.UPDATED, List.of(dto));
+        return dto;
+    }
+
+    @Override
+    @Transactional
+    public int updateEmployeesActive(final List<Long> ids, final boolean active) {
+        final var updatedRows = employeeRepository.updateActiveByIds(ids, active, Timestamps.now());
+        evictEmployees(ids);
+        return updatedRows;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> updateEmployees(final List<EmployeeDTO> dtos) {
+        final List<Long> updatedIds;
+        try {
+            updatedIds = employeeRepository.updateEmployees(dtos, Timestamps.now());
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailViolation(e);
+        }
+        evictEmployees(updatedIds);
+        return updatedIds;
+    }
+
+    /**
+     * Duplicates are detected by the unique {@code lower(email)} index instead of a preceding exists query,
+     * which saves a round trip and can't be raced by a concurrent insert.
+     */
+    @Override
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.id")
+    @Transactional
+    public EmployeeDTO saveEmployee(final EmployeeDTO dto) {
         dto.setId(null);
-        return mapper.toDTO(employeeRepository.save(mapper.toEntity(dto)));
+        try {
+            final var savedEmployee = mapper.toDTO(employeeRepository.saveAndFlush(mapper.toEntity(dto)));
+            changeService.recordChanges(EmployeeChangeType.CREATED, List.of(savedEmployee));
+            return savedEmployee;
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailViolation(e);
+        }
     }
 
     @Override
+    @Transactional
+    public List<EmployeeBulkResultDTO> saveEmployees(final List<EmployeeDTO> dtos) {
+        if (dtos.isEmpty() || dtos.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("Number of employees must be between 1 and " + MAX_BULK_SIZE);
+        }
+
+        final var results = new EmployeeBulkResultDTO[dtos.size()];
+        // Lower-cased email -> index of the first valid occurrence in the request
+        final var candidates = new LinkedHashMap<String, Integer>();
+        for (int i = 0; i < dtos.size(); i++) {
+            final var dto = dtos.get(i);
+            final var violations = validate(dto);
+            if (violations != null) {
+                results[i] = new EmployeeBulkResultDTO(i, null, dto == null ? null : dto.getEmail(),
+                        EmployeeBulkResultDTO.Status.INVALID, violations);
+            } else if (candidates.putIfAbsent(dto.getEmail().toLowerCase(Locale.ROOT), i) != null) {
+                results[i] = new EmployeeBulkResultDTO(i, null, dto.getEmail(),
+                        EmployeeBulkResultDTO.Status.DUPLICATE, "Employee is listed more than once with the given email");
+            }
+        }
+
+        // One set-based query instead of an exists query per employee
+        final Set<String> existingEmails = candidates.isEmpty()
+                ? Set.of()
+                : employeeRepository.findExistingEmails(candidates.keySet());
+
+        final var employees = new ArrayList<Employee>(candidates.size());
+        final var indexes = new ArrayList<Integer>(candidates.size());
+        candidates.forEach((email, i) -> {
+            if (existingEmails.contains(email)) {
+                results[i] = new EmployeeBulkResultDTO(i, null, dtos.get(i).getEmail(),
+                        EmployeeBulkResultDTO.Status.DUPLICATE, "Employee already exist with the given email");
+            } else {
+                final var dto = dtos.get(i);
+                dto.setId(null);
+                employees.add(mapper.toEntity(dto));
+                indexes.add(i);
+            }
+        });
+
+        // Inserted in JDBC batches thanks to the pooled id sequence and hibernate.jdbc.batch_size. Flushed here, so
+        // an employee inserted concurrently since the check above fails the request like a single create does
+        final List<Employee> savedEmployees;
+        try {
+            savedEmployees = employeeRepository.saveAllAndFlush(employees);
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailViolation(e);
+        }
+        final var changes = new ArrayList<EmployeeDTO>(savedEmployees.size());
+        for (int i = 0; i < savedEmployees.size(); i++) {
+            final var savedEmployee = savedEmployees.get(i);
+            results[indexes.get(i)] = new EmployeeBulkResultDTO(indexes.get(i), savedEmployee.getId(),
+                    savedEmployee.getEmail(), EmployeeBulkResultDTO.Status.CREATED, null);
+            changes.add(mapper.toDTO(savedEmployee));
+        }
+        changeService.recordChanges(EmployeeChangeType.CREATED, changes);
+
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    @Transactional
     public void deleteEmployee(Long id) {
-        // Check is employee exist
-        getEmployeeById(id);
-        employeeRepository.deleteById(id);
+        if (employeeRepository.deleteEmployeeById(id) == 0) {
+            throw new ResourceNotFoundException("Employee not found with the given ID");
+        }
+    }
+
+    private String validate(final EmployeeDTO dto) {
+        if (dto == null) {
+            return "Employee must not be null";
+        }
+
+        final var violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Rejects sorting by not indexed properties and appends the id to a creation time sort,
+     * so rows created at the same time keep their order between pages.
+     */
+    private static Pageable withStableSort(final Pageable pageable) {
+        final var sort = pageable.getSort();
+        for (final var order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestException("Employees can only be sorted by id and createdAt");
+            }
+        }
+
+        final var createdAtOrder = sort.getOrderFor("createdAt");
+        if (createdAtOrder == null || sort.getOrderFor("id") != null) {
+            return pageable;
+        }
+
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                sort.and(Sort.by(createdAtOrder.getDirection(), "id")));
+    }
+
+    private static void checkCursorPageSize(final int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Turns {@code "jo do"} into {@code "jo:* & do:*"}, everything but letters and digits is dropped,
+     * so user input can't break the tsquery syntax.
+     */
+    private static String toPrefixTsQuery(final String term) {
+        return NON_WORD_CHARACTERS.splitAsStream(term.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private static String toPrefixPattern(final String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    private static String encodeCursor(final String value) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeIdCursor(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            return Long.valueOf(decodeCursor(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    private static SearchCursor decodeSearchCursor(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new SearchCursor(Float.MAX_VALUE, 0L);
+        }
+
+        try {
+            final var value = decodeCursor(cursor);
+            final var separator = value.lastIndexOf(SEARCH_CURSOR_SEPARATOR);
+            return new SearchCursor(Float.valueOf(value.substring(0, Math.max(0, separator))),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    private static String decodeCursor(final String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A taken email is a client error wherever it is written, any other violation stays a server error.
+     */
+    /**
+     * Evicts only the given employees instead of the whole cache. The cache is transaction-aware, so they are
+     * evicted after the commit, like with {@code @CacheEvict}.
+     */
+    private void evictEmployees(final Collection<Long> ids) {
+        final var cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        ids.forEach(cache::evict);
+    }
+
+    private static RuntimeException translateEmailViolation(final DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation
+                && EMAIL_UNIQUE_INDEX.equals(violation.getConstraintName())) {
+            return new BadRequestException("Employee already exist with the given email");
+        }
+        return e;
+    }
+
+    private record SearchCursor(Float rank, Long id) {
     }
 }
@@ -0,0 +1,18 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeUpdateJobDTO;
+
+import java.util.List;
+
+public interface EmployeeUpdateJobService {
+
+    /**
+     * Validates the updates and queues them as a job, they are applied in the background.
+     *
+     * @return the job, to poll its status by its id
+     */
+    EmployeeUpdateJobDTO submitUpdates(final List<EmployeeDTO> dtos);
+
+    EmployeeUpdateJobDTO getJob(final String id);
+}
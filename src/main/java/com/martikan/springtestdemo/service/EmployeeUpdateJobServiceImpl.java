@@ -0,0 +1,306 @@
+package com.martikan.springtestdemo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.martikan.springtestdemo.config.EmployeeUpdateJobProperties;
+import com.martikan.springtestdemo.domain.Timestamps;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeUpdateJobDTO;
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.exception.ResourceNotFoundException;
+import com.martikan.springtestdemo.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind bulk updates: a job is validated and queued on submission, a bounded pool of workers applies it
+ * in batches, each batch in one transaction and statement. Jobs are kept in memory only, a restart loses the
+ * queued ones and the status of the finished ones.
+ */
+@Profile("!reactive")
+@Service
+public class EmployeeUpdateJobServiceImpl implements EmployeeUpdateJobService {
+
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    private final EmployeeService employeeService;
+
+    private final Validator validator;
+
+    private final EmployeeUpdateJobProperties properties;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Cache<String, Job> jobs;
+
+    /**
+     * Updates of the queued and running jobs which are neither applied nor rejected yet.
+     */
+    private final AtomicLong pendingUpdates = new AtomicLong();
+
+    private final Timer batchTimer;
+
+    private final Counter appliedUpdates;
+
+    private final Counter rejectedUpdates;
+
+    public EmployeeUpdateJobServiceImpl(final EmployeeService employeeService,
+                                        final Validator validator,
+                                        final EmployeeUpdateJobProperties properties,
+                                        final MeterRegistry meterRegistry) {
+        this.employeeService = employeeService;
+        this.validator = validator;
+        this.properties = properties;
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("employee-update-job-", 1).daemon(true).factory());
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getRetention())
+                .build();
+
+        Gauge.builder("employee.update.jobs.queued", executor, pool -> pool.getQueue().size())
+                .description("Jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("employee.update.jobs.pending.updates", pendingUpdates, AtomicLong::get)
+                .description("Updates of queued and running jobs not applied yet")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("employee.update.jobs.batch")
+                .description("Time to apply a batch of updates")
+                .register(meterRegistry);
+        this.appliedUpdates = Counter.builder("employee.update.jobs.updates")
+                .tag("outcome", "applied")
+                .register(meterRegistry);
+        this.rejectedUpdates = Counter.builder("employee.update.jobs.updates")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Several updates of the same employee are coalesced into the last one, so each row is written once.
+     * The updates are applied sorted by id, so a batch touches neighbouring rows of the primary key index.
+     */
+    @Override
+    public EmployeeUpdateJobDTO submitUpdates(final List<EmployeeDTO> dtos) {
+        if (dtos == null || dtos.isEmpty() || dtos.size() > properties.getMaxJobSize()) {
+            throw new BadRequestException("Number of updates must be between 1 and " + properties.getMaxJobSize());
+        }
+
+        final var job = new Job(UUID.randomUUID().toString(), dtos.size(), Timestamps.now());
+        // Employee id -> index of its last valid update in the request
+        final var latest = new TreeMap<Long, Integer>();
+        for (int i = 0; i < dtos.size(); i++) {
+            final var dto = dtos.get(i);
+            final var violations = validate(dto);
+            if (violations != null) {
+                reject(job, i, dto == null ? null : dto.getId(), violations);
+            } else if (latest.put(dto.getId(), i) != null) {
+                job.coalesce();
+            }
+        }
+
+        final var updates = latest.values().stream()
+                .map(i -> new Update(i, dtos.get(i)))
+                .toList();
+        jobs.put(job.id, job);
+        if (updates.isEmpty()) {
+            job.finish(EmployeeUpdateJobDTO.Status.COMPLETED);
+            return job.toDTO();
+        }
+
+        if (pendingUpdates.addAndGet(updates.size()) > properties.getMaxPendingUpdates()) {
+            pendingUpdates.addAndGet(-updates.size());
+            jobs.invalidate(job.id);
+            throw new ServiceUnavailableException("Too many updates are pending, retry later");
+        }
+        try {
+            executor.execute(() -> run(job, updates));
+        } catch (RejectedExecutionException e) {
+            pendingUpdates.addAndGet(-updates.size());
+            jobs.invalidate(job.id);
+            throw new ServiceUnavailableException("Too many update jobs are queued, retry later");
+        }
+
+        return job.toDTO();
+    }
+
+    @Override
+    public EmployeeUpdateJobDTO getJob(final String id) {
+        final var job = jobs.getIfPresent(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Update job not found with the given ID");
+        }
+
+        return job.toDTO();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(final Job job, final List<Update> updates) {
+        job.start();
+        var next = 0;
+        try {
+            while (next < updates.size()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Update job has been interrupted");
+                }
+
+                final var batch = updates.subList(next, Math.min(next + properties.getBatchSize(), updates.size()));
+                applyBatch(job, batch);
+                next += batch.size();
+                pendingUpdates.addAndGet(-batch.size());
+                // Keeps the job queryable for the retention period after its last progress
+                jobs.put(job.id, job);
+            }
+            job.finish(EmployeeUpdateJobDTO.Status.COMPLETED);
+        } catch (RuntimeException e) {
+            for (final var update : updates.subList(next, updates.size())) {
+                reject(job, update.index(), update.dto().getId(), "Update job failed: " + e.getMessage());
+            }
+            pendingUpdates.addAndGet(-(updates.size() - next));
+            job.finish(EmployeeUpdateJobDTO.Status.FAILED);
+        }
+        jobs.put(job.id, job);
+    }
+
+    private void applyBatch(final Job job, final List<Update> batch) {
+        try {
+            settle(job, batch, apply(batch));
+        } catch (BadRequestException e) {
+            // An email taken by another employee fails the whole statement, apply one by one to find the culprit
+            for (final var update : batch) {
+                try {
+                    settle(job, List.of(update), apply(List.of(update)));
+                } catch (BadRequestException violation) {
+                    reject(job, update.index(), update.dto().getId(), violation.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<Long> apply(final List<Update> batch) {
+        return batchTimer.record(() -> employeeService.updateEmployees(batch.stream()
+                .map(Update::dto)
+                .toList()));
+    }
+
+    private void settle(final Job job, final List<Update> batch, final List<Long> updatedIds) {
+        final var updated = new HashSet<>(updatedIds);
+        for (final var update : batch) {
+            if (updated.contains(update.dto().getId())) {
+                job.apply();
+                appliedUpdates.increment();
+            } else {
+                reject(job, update.index(), update.dto().getId(),
+                        "Employee not found with the given ID or modified in the meantime");
+            }
+        }
+    }
+
+    private void reject(final Job job, final int index, final Long id, final String message) {
+        job.reject(new EmployeeUpdateJobDTO.Rejection(index, id, message));
+        rejectedUpdates.increment();
+    }
+
+    private String validate(final EmployeeDTO dto) {
+        if (dto == null) {
+            return "Employee must not be null";
+        }
+        if (dto.getId() == null) {
+            return "id must not be null";
+        }
+
+        final var violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private record Update(int index, EmployeeDTO dto) {
+    }
+
+    /**
+     * Progress of a job, written by its worker and read by the status requests.
+     */
+    private static final class Job {
+
+        private final String id;
+
+        private final int submitted;
+
+        private final ZonedDateTime submittedAt;
+
+        private final List<EmployeeUpdateJobDTO.Rejection> rejections = new ArrayList<>();
+
+        private EmployeeUpdateJobDTO.Status status = EmployeeUpdateJobDTO.Status.QUEUED;
+
+        private int coalesced;
+
+        private int applied;
+
+        private int rejected;
+
+        private ZonedDateTime finishedAt;
+
+        private Job(final String id, final int submitted, final ZonedDateTime submittedAt) {
+            this.id = id;
+            this.submitted = submitted;
+            this.submittedAt = submittedAt;
+        }
+
+        private synchronized void start() {
+            status = EmployeeUpdateJobDTO.Status.RUNNING;
+        }
+
+        private synchronized void coalesce() {
+            coalesced++;
+        }
+
+        private synchronized void apply() {
+            applied++;
+        }
+
+        private synchronized void reject(final EmployeeUpdateJobDTO.Rejection rejection) {
+            rejected++;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(rejection);
+            }
+        }
+
+        private synchronized void finish(final EmployeeUpdateJobDTO.Status status) {
+            this.status = status;
+            finishedAt = Timestamps.now();
+        }
+
+        private synchronized EmployeeUpdateJobDTO toDTO() {
+            return new EmployeeUpdateJobDTO(id, status, submitted, coalesced, applied, rejected,
+                    List.copyOf(rejections), submittedAt, finishedAt);
+        }
+    }
+}
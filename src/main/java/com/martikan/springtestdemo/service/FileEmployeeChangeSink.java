@@ -0,0 +1,35 @@
+package com.martikan.springtestdemo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.springtestdemo.dto.EmployeeChangeDTO;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends the changes to a file as NDJSON, for local runs.
+ */
+@RequiredArgsConstructor
+public class FileEmployeeChangeSink implements EmployeeChangeSink {
+
+    private final Path file;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public synchronized void publish(final List<EmployeeChangeDTO> changes) {
+        try (final var writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (final var change : changes) {
+                writer.write(objectMapper.writeValueAsString(change));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write employee changes to " + file, e);
+        }
+    }
+}
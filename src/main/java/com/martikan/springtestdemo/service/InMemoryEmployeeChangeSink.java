@@ -0,0 +1,40 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.dto.EmployeeChangeDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the most recent changes in memory, for local runs and tests.
+ */
+public class InMemoryEmployeeChangeSink implements EmployeeChangeSink {
+
+    private final int capacity;
+
+    private final ArrayDeque<EmployeeChangeDTO> changes;
+
+    public InMemoryEmployeeChangeSink(final int capacity) {
+        this.capacity = capacity;
+        this.changes = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized void publish(final List<EmployeeChangeDTO> changes) {
+        for (final var change : changes) {
+            if (this.changes.size() == capacity) {
+                this.changes.removeFirst();
+            }
+            this.changes.addLast(change);
+        }
+    }
+
+    public synchronized List<EmployeeChangeDTO> getChanges() {
+        return new ArrayList<>(changes);
+    }
+
+    public synchronized void clear() {
+        changes.clear();
+    }
+}
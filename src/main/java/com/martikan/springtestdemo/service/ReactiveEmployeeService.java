@@ -0,0 +1,20 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+    Flux<EmployeeDTO> getAllEmployees(final Pageable pageable);
+
+    Flux<EmployeeDTO> exportEmployees();
+
+    Mono<EmployeeDTO> getEmployeeById(final Long id);
+
+    Mono<EmployeeDTO> updateEmployee(final EmployeeDTO dto);
+
+    Mono<EmployeeDTO> saveEmployee(final EmployeeDTO dto);
+
+    Mono<Void> deleteEmployee(final Long id);
+}
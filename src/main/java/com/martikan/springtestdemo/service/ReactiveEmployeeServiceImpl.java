@@ -0,0 +1,82 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.domain.Timestamps;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.exception.ConflictException;
+import com.martikan.springtestdemo.exception.ResourceNotFoundException;
+import com.martikan.springtestdemo.mapper.ReactiveEmployeeMapper;
+import com.martikan.springtestdemo.repository.ReactiveEmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@RequiredArgsConstructor
+@Service
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    private final ReactiveEmployeeMapper mapper;
+
+    @Override
+    public Flux<EmployeeDTO> getAllEmployees(final Pageable pageable) {
+        return employeeRepository.findAllBy(pageable)
+                .map(mapper::toDTO);
+    }
+
+    @Override
+    public Flux<EmployeeDTO> exportEmployees() {
+        return employeeRepository.streamAll()
+                .map(mapper::toDTO);
+    }
+
+    @Override
+    public Mono<EmployeeDTO> getEmployeeById(final Long id) {
+        return employeeRepository.findById(id)
+                .map(mapper::toDTO)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Employee not found with the given ID")));
+    }
+
+    @Override
+    public Mono<EmployeeDTO> updateEmployee(final EmployeeDTO dto) {
+        final var updatedAt = Timestamps.now();
+        return employeeRepository.updateEmployee(dto.getId(), dto.getFirstName(), dto.getLastName(), dto.getEmail(),
+                        dto.isActive(), dto.getVersion(), updatedAt)
+                .map(version -> {
+                    dto.setVersion(version);
+                    dto.setUpdatedAt(updatedAt);
+                    return dto;
+                })
+                .switchIfEmpty(Mono.defer(() -> dto.getVersion() == null
+                        ? Mono.just(false)
+                        : employeeRepository.existsById(dto.getId()))
+                        .flatMap(exists -> Mono.<EmployeeDTO>error(exists
+                                ? new ConflictException("Employee has been modified in the meantime")
+                                : new ResourceNotFoundException("Employee not found with the given ID"))));
+    }
+
+    @Override
+    public Mono<EmployeeDTO> saveEmployee(final EmployeeDTO dto) {
+        final var now = Timestamps.now();
+        // Duplicates are detected by the unique lower(email) index, other constraints can't be broken by a valid DTO
+        return employeeRepository.insertEmployee(dto.getFirstName(), dto.getLastName(), dto.getEmail(), dto.isActive(),
+                        now, now)
+                .map(mapper::toDTO)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new BadRequestException("Employee already exist with the given email"));
+    }
+
+    @Override
+    public Mono<Void> deleteEmployee(final Long id) {
+        return employeeRepository.deleteEmployeeById(id)
+                .filter(deletedRows -> deletedRows > 0)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Employee not found with the given ID")))
+                .then();
+    }
+}
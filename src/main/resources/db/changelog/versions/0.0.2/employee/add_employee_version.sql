@@ -0,0 +1,5 @@
+--liquibase formatted sql
+--changeset rmartikan:add_employee_version splitStatements:true endDelimiter:;
+
+-- Optimistic locking, incremented on every update. A constant default needs no table rewrite
+ALTER TABLE employees ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
\ No newline at end of file
@@ -0,0 +1,4 @@
+--liquibase formatted sql
+--changeset rmartikan:alter_employee_id_sequence splitStatements:true endDelimiter:;
+
+ALTER SEQUENCE employees_id_seq INCREMENT BY 50;
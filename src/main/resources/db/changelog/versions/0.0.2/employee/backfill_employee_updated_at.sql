@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset rmartikan:backfill_employee_updated_at splitStatements:true endDelimiter:;
+
+-- updated_at is the ETag of an employee, so every row needs one
+UPDATE employees SET updated_at = COALESCE(created_at, NOW()) WHERE updated_at IS NULL;
+
+ALTER TABLE employees ALTER COLUMN updated_at SET DEFAULT NOW();
+ALTER TABLE employees ALTER COLUMN updated_at SET NOT NULL;
\ No newline at end of file
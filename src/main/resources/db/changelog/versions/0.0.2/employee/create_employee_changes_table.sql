@@ -0,0 +1,22 @@
+--liquibase formatted sql
+--changeset rmartikan:create_employee_changes_table splitStatements:true endDelimiter:;
+
+-- Transactional outbox of employee mutations, written in the same transaction as the change itself
+CREATE TABLE employee_changes(
+    id bigserial PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    payload TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT (NOW()),
+    seq BIGINT UNIQUE,
+    published_at TIMESTAMPTZ
+);
+
+-- Pooled ids keep the inserts batched, see alter_employee_id_sequence
+ALTER SEQUENCE employee_changes_id_seq INCREMENT BY 50;
+
+-- Assigned by the relay when a change is published, so it follows the order of publication
+CREATE SEQUENCE employee_changes_seq_seq;
+
+-- Only the unpublished changes are scanned by the relay
+CREATE INDEX employee_changes_unpublished_idx ON employee_changes (id) WHERE seq IS NULL;
\ No newline at end of file
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset rmartikan:create_employee_created_at_indexes splitStatements:true endDelimiter:; runInTransaction:false
+
+-- Filtering by active and a creation time range, ordered by creation time (id keeps the order stable)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS employees_active_created_at_idx ON employees (active, created_at, id);
+
+-- Creation time range and ordering without the active filter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS employees_created_at_idx ON employees (created_at, id);
\ No newline at end of file
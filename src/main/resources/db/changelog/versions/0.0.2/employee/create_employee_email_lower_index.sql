@@ -0,0 +1,15 @@
+--liquibase formatted sql
+--changeset rmartikan:create_employee_email_lower_index splitStatements:true endDelimiter:; runInTransaction:false
+--preconditions onFail:HALT onError:HALT
+-- Emails differing only in case must be merged by hand first, the unique index can't be built over them
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM (SELECT lower(email) FROM employees GROUP BY lower(email) HAVING COUNT(*) > 1) duplicates
+
+-- Emails are unique regardless of case, the index also serves the lower(email) lookups of EmployeeRepository
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS employees_email_lower_key ON employees (lower(email));
+
+--changeset rmartikan:drop_employee_email_key splitStatements:true endDelimiter:;
+--preconditions onFail:HALT onError:HALT
+-- A failed concurrent build leaves an invalid index behind: drop it and rerun, the old constraint is kept until then
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = 'employees_email_lower_key' AND i.indisvalid
+
+ALTER TABLE employees DROP CONSTRAINT IF EXISTS employees_email_key;
\ No newline at end of file
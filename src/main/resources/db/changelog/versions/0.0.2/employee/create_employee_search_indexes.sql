@@ -0,0 +1,13 @@
+--liquibase formatted sql
+--changeset rmartikan:create_employee_search_indexes splitStatements:true endDelimiter:; runInTransaction:false
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigram indexes serve the prefix ILIKE matches of the type-ahead search
+CREATE INDEX CONCURRENTLY IF NOT EXISTS employees_first_name_trgm_idx ON employees USING GIN (first_name gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS employees_last_name_trgm_idx ON employees USING GIN (last_name gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS employees_email_trgm_idx ON employees USING GIN (email gin_trgm_ops);
+
+-- Must stay in sync with the expression used by EmployeeRepository.searchEmployees, otherwise it is not used
+CREATE INDEX CONCURRENTLY IF NOT EXISTS employees_search_vector_idx ON employees
+    USING GIN (to_tsvector('simple', first_name || ' ' || last_name || ' ' || email));
\ No newline at end of file
@@ -11,7 +11,8 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
-@SpringBootTest
+// The outbox relay is triggered explicitly by the tests, so it doesn't add statements to the ones they count
+@SpringBootTest(properties = "app.outbox.relay.enabled=false")
 @AutoConfigureMockMvc
 @DirtiesContext
 @Testcontainers
@@ -0,0 +1,26 @@
+package com.martikan.springtestdemo;
+
+import com.martikan.springtestdemo.config.JdbcRequestStats;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails a MockMvc request which executes more JDBC statements than expected, e.g. an extra SELECT before an
+ * update or an N+1 query. Relies on {@code JdbcRequestMetricsFilter}, which MockMvc applies like any filter.
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    public static ResultMatcher atMostStatements(final long budget) {
+        return result -> {
+            final var stats = (JdbcRequestStats) result.getRequest().getAttribute(JdbcRequestStats.ATTRIBUTE);
+            assertNotNull(stats, "No JDBC statistics have been recorded for the request");
+            assertTrue(stats.getStatements() <= budget, () -> "Request executed " + stats.getStatements()
+                    + " statements, its budget is " + budget);
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.martikan.springtestdemo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({MockitoExtension.class, OutputCaptureExtension.class})
+public class InstrumentedDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private InstrumentedDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws Exception {
+        dataSource = new InstrumentedDataSource(targetDataSource, null);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        JdbcRequestStats.stop();
+    }
+
+    @Test
+    void whenQueryDuringRequest_thenCountsStatementsAndRows() throws Exception {
+        // Arrange
+        final var stats = JdbcRequestStats.start();
+        when(connection.prepareStatement("select 1")).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        // Act
+        try (final var proxiedConnection = dataSource.getConnection();
+             final var proxiedStatement = proxiedConnection.prepareStatement("select 1");
+             final var proxiedResultSet = proxiedStatement.executeQuery()) {
+            while (proxiedResultSet.next()) {
+                proxiedResultSet.getLong(1);
+            }
+        }
+
+        // Assert
+        assertEquals(1, stats.getStatements());
+        assertEquals(2, stats.getRows());
+        verify(resultSet).close();
+        verify(statement).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void whenStatementReachesSlowThreshold_thenLogsItWithParameterTypes(final CapturedOutput output) throws Exception {
+        // Arrange
+        final var sql = "update employees set email = ? where id = ?";
+        final var slowDataSource = new InstrumentedDataSource(targetDataSource, Duration.ZERO);
+        when(connection.prepareStatement(sql)).thenReturn(statement);
+
+        // Act
+        try (final var proxiedConnection = slowDataSource.getConnection()) {
+            final var proxiedStatement = proxiedConnection.prepareStatement(sql);
+            proxiedStatement.setString(1, "john.doe@gmail.com");
+            proxiedStatement.setLong(2, 1L);
+            proxiedStatement.executeUpdate();
+        }
+
+        // Assert
+        assertTrue(output.getOut().contains("where id = ? parameters [String, Long]"));
+        assertFalse(output.getOut().contains("john.doe@gmail.com"));
+    }
+
+    @Test
+    void whenUpdateOutsideRequest_thenPassesCallsThrough() throws Exception {
+        // Arrange
+        when(connection.prepareStatement("update employees set active = true")).thenReturn(statement);
+        when(statement.executeUpdate()).thenReturn(3);
+
+        // Act
+        final int updatedRows;
+        try (final var proxiedConnection = dataSource.getConnection()) {
+            updatedRows = proxiedConnection.prepareStatement("update employees set active = true").executeUpdate();
+        }
+
+        // Assert
+        assertEquals(3, updatedRows);
+    }
+
+    @Test
+    void whenCompareConnections_thenComparesProxiesByIdentity() throws Exception {
+        // Arrange
+        final var proxiedConnection = dataSource.getConnection();
+
+        // Act
+        final var otherConnection = dataSource.getConnection();
+
+        // Assert
+        assertEquals(proxiedConnection, proxiedConnection);
+        assertNotEquals(proxiedConnection, otherConnection);
+    }
+}
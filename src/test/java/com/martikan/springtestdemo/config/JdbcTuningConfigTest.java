@@ -0,0 +1,68 @@
+package com.martikan.springtestdemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JdbcTuningConfigTest {
+
+    @Test
+    void whenHikariDataSourceIsCreated_thenAppliesPoolAndDriverSettings() {
+        // Arrange
+        final var properties = new JdbcTuningProperties();
+        properties.setConnectionTimeout(Duration.ofSeconds(1));
+        properties.setLeakDetectionThreshold(Duration.ofSeconds(10));
+        @SuppressWarnings("unchecked")
+        final ObjectProvider<JdbcTuningProperties> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(properties);
+        final var dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(20);
+
+        // Act
+        JdbcTuningConfig.hikariTuningPostProcessor(provider).postProcessBeforeInitialization(dataSource, "dataSource");
+
+        // Assert
+        assertEquals(20, dataSource.getMinimumIdle());
+        assertEquals(1000, dataSource.getConnectionTimeout());
+        assertEquals(10_000, dataSource.getLeakDetectionThreshold());
+        assertEquals(true, dataSource.getDataSourceProperties().get("reWriteBatchedInserts"));
+        assertEquals(512, dataSource.getDataSourceProperties().get("preparedStatementCacheQueries"));
+    }
+
+    @Test
+    void whenKeepaliveIsNotShorterThanMaxLifetime_thenPropertiesAreInvalid() {
+        // Arrange
+        final var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        final var properties = new JdbcTuningProperties();
+        properties.setKeepaliveTime(properties.getMaxLifetime());
+
+        // Act
+        final var violations = validator.validate(properties);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals("keepaliveTime must be shorter than maxLifetime", violations.iterator().next().getMessage());
+    }
+
+    @Test
+    void whenDefaults_thenPropertiesAreValid() {
+        // Arrange
+        final var validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        // Act
+        final var violations = validator.validate(new JdbcTuningProperties());
+
+        // Assert
+        assertTrue(violations.isEmpty());
+        assertFalse(new JdbcTuningProperties().isEnabled());
+    }
+}
@@ -0,0 +1,70 @@
+package com.martikan.springtestdemo.config;
+
+import com.martikan.springtestdemo.SpringTestDemoApplicationIT;
+import com.martikan.springtestdemo.apiConstant.Routes;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MetricsIT extends SpringTestDemoApplicationIT {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void whenGetEmployeeByIdWhenIdNotExists_thenTimesServiceCallAsNotFound() throws Exception {
+        // Arrange
+        final var employeeId = 111L;
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId));
+
+        // Assert
+        res.andExpect(status().isNotFound());
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.TIMER)
+                .tag("operation", "getEmployeeById")
+                .tag("outcome", "not_found")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void whenGetEmployees_thenRecordsStatementsOfTheRequest() throws Exception {
+        // Arrange
+        // Other tests of the shared context may have recorded requests to the same URI
+        final var requestsBefore = statementsSummary().map(DistributionSummary::count).orElse(0L);
+        final var statementsBefore = statementsSummary().map(DistributionSummary::totalAmount).orElse(0.0);
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH));
+
+        // Assert
+        res.andExpect(status().isOk());
+        final var statements = statementsSummary().orElseThrow();
+        assertEquals(requestsBefore + 1, statements.count());
+        assertTrue(statements.totalAmount() - statementsBefore >= 1);
+    }
+
+    @Test
+    void whenGetConnectionPoolSaturation_thenIsShareOfConnectionsInUse() {
+        // Act
+        final var saturation = meterRegistry.get("hikaricp.connections.saturation").gauge().value();
+
+        // Assert
+        assertTrue(saturation >= 0 && saturation <= 1);
+    }
+
+    private Optional<DistributionSummary> statementsSummary() {
+        return Optional.ofNullable(meterRegistry.find(JdbcRequestMetricsFilter.STATEMENTS)
+                .tag("uri", Routes.EMPLOYEE_V1_PATH)
+                .summary());
+    }
+}
@@ -0,0 +1,118 @@
+package com.martikan.springtestdemo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReadOnlyRoutingDataSourceTest {
+
+    @BeforeEach
+    void setup() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        ReadOnlyRoutingDataSource.setPrimaryReads(false);
+        ReadOnlyRoutingDataSource.setEmployeeWrites(false);
+    }
+
+    @Test
+    void whenReadOnlyTransaction_thenRoutesToReplica() {
+        // Arrange
+        final var dataSource = new ReadOnlyRoutingDataSource(Duration.ZERO);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        final var route = dataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReadOnlyRoutingDataSource.Route.REPLICA, route);
+    }
+
+    @Test
+    void whenReadWriteTransaction_thenRoutesToPrimary() {
+        // Arrange
+        final var dataSource = new ReadOnlyRoutingDataSource(Duration.ZERO);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        // Act
+        final var route = dataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReadOnlyRoutingDataSource.Route.PRIMARY, route);
+        assertEquals(0, TransactionSynchronizationManager.getSynchronizations().size());
+    }
+
+    @Test
+    void whenReadOnlyTransactionRightAfterCommittedEmployeeWrite_thenRoutesToPrimary() {
+        // Arrange
+        final var dataSource = new ReadOnlyRoutingDataSource(Duration.ofMinutes(1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadOnlyRoutingDataSource.setEmployeeWrites(true);
+        dataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        final var route = dataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReadOnlyRoutingDataSource.Route.PRIMARY, route);
+    }
+
+    @Test
+    void whenReadOnlyTransactionAfterCommittedOtherWrite_thenRoutesToReplica() {
+        // Arrange
+        final var dataSource = new ReadOnlyRoutingDataSource(Duration.ofMinutes(1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        dataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        final var route = dataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReadOnlyRoutingDataSource.Route.REPLICA, route);
+    }
+
+    @Test
+    void whenReadOnlyTransactionAfterRolledBackWrite_thenRoutesToReplica() {
+        // Arrange
+        final var dataSource = new ReadOnlyRoutingDataSource(Duration.ofMinutes(1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadOnlyRoutingDataSource.setEmployeeWrites(true);
+        dataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        final var route = dataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReadOnlyRoutingDataSource.Route.REPLICA, route);
+    }
+
+    @Test
+    void whenReadOnlyTransactionWithPrimaryReads_thenRoutesToPrimary() {
+        // Arrange
+        final var dataSource = new ReadOnlyRoutingDataSource(Duration.ZERO);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadOnlyRoutingDataSource.setPrimaryReads(true);
+
+        // Act
+        final var route = dataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReadOnlyRoutingDataSource.Route.PRIMARY, route);
+    }
+}
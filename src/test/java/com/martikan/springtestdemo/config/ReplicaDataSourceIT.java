@@ -0,0 +1,129 @@
+package com.martikan.springtestdemo.config;
+
+import com.github.javafaker.Faker;
+import com.martikan.springtestdemo.SpringTestDemoApplicationIT;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
+import com.martikan.springtestdemo.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import javax.sql.DataSource;
+import java.sql.DriverManager;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The "replica" is a second, independent PostgreSQL, so reads that reach it can't see rows written to the primary.
+ */
+public class ReplicaDataSourceIT extends SpringTestDemoApplicationIT {
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15");
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @DynamicPropertySource
+    static void replicaProps(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replica.enabled", () -> "true");
+        registry.add("app.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("app.datasource.replica.username", replica::getUsername);
+        registry.add("app.datasource.replica.password", replica::getPassword);
+        // The test writes right before reading, which would otherwise keep the reads on the primary
+        registry.add("app.datasource.replica.read-your-writes-window", () -> "0s");
+    }
+
+    @BeforeAll
+    static void migrateReplica() throws Exception {
+        try (final var connection = DriverManager.getConnection(replica.getJdbcUrl(), replica.getUsername(),
+                replica.getPassword())) {
+            final var database = DatabaseFactory.getInstance()
+                    .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            new Liquibase("db/changelog/changelog-master.yml", new ClassLoaderResourceAccessor(), database)
+                    .update(new Contexts());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM employees");
+        new JdbcTemplate(replicaDataSource).update("DELETE FROM employees");
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+    }
+
+    @Test
+    void whenReadOnlyServiceCall_thenReadsFromReplica() {
+        // Arrange
+        final var dto = new EmployeeDTO();
+        dto.setFirstName(faker.name().firstName());
+        dto.setLastName(faker.name().lastName());
+        dto.setEmail("primary@gmail.com");
+        employeeService.saveEmployee(dto);
+        new JdbcTemplate(replicaDataSource).update("INSERT INTO employees (id, first_name, last_name, email, active) "
+                + "VALUES (1, 'Replica', 'Only', ?, true)", "replica@gmail.com");
+
+        // Act
+        final var employees = employeeService.getAllEmployees(new EmployeeFilterDTO(), PageRequest.ofSize(10));
+
+        // Assert
+        assertEquals(List.of("replica@gmail.com"), employees.stream().map(EmployeeDTO::getEmail).toList());
+        assertEquals(List.of("primary@gmail.com"),
+                new JdbcTemplate(primaryDataSource).queryForList("SELECT email FROM employees", String.class));
+        assertTrue(meterRegistry.get("hikaricp.connections").tag("pool", ReplicaDataSourceConfig.REPLICA_POOL)
+                .gauge().value() > 0);
+        assertTrue(meterRegistry.get("hikaricp.connections").tag("pool", ReplicaDataSourceConfig.PRIMARY_POOL)
+                .gauge().value() > 0);
+    }
+
+    @Test
+    void whenCachedServiceCall_thenReadsFromPrimary() {
+        // Arrange
+        final var dto = new EmployeeDTO();
+        dto.setFirstName(faker.name().firstName());
+        dto.setLastName(faker.name().lastName());
+        dto.setEmail("primary@gmail.com");
+        final var savedEmployee = employeeService.saveEmployee(dto);
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+
+        // Act
+        final var employee = employeeService.getEmployeeById(savedEmployee.getId());
+
+        // Assert
+        assertEquals("primary@gmail.com", employee.getEmail());
+    }
+}
@@ -0,0 +1,124 @@
+package com.martikan.springtestdemo.config;
+
+import com.github.javafaker.Faker;
+import com.martikan.springtestdemo.SpringTestDemoApplicationIT;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
+import com.martikan.springtestdemo.service.EmployeeService;
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import javax.sql.DataSource;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs with the outbox relay committing in the background, which must not keep the reads on the primary.
+ */
+public class ReplicaReadYourWritesIT extends SpringTestDemoApplicationIT {
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15");
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @DynamicPropertySource
+    static void replicaProps(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replica.enabled", () -> "true");
+        registry.add("app.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("app.datasource.replica.username", replica::getUsername);
+        registry.add("app.datasource.replica.password", replica::getPassword);
+        // Longer than the tests, so any commit which opens the window keeps their reads on the primary
+        registry.add("app.datasource.replica.read-your-writes-window", () -> "1m");
+        // Overrides the base class, dynamic properties take precedence over the @SpringBootTest ones
+        registry.add("app.outbox.relay.enabled", () -> "true");
+        registry.add("app.outbox.relay.interval", () -> "PT0.1S");
+    }
+
+    @BeforeAll
+    static void migrateReplica() throws Exception {
+        try (final var connection = DriverManager.getConnection(replica.getJdbcUrl(), replica.getUsername(),
+                replica.getPassword())) {
+            final var database = DatabaseFactory.getInstance()
+                    .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            new Liquibase("db/changelog/changelog-master.yml", new ClassLoaderResourceAccessor(), database)
+                    .update(new Contexts());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM employee_changes");
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM employees");
+        new JdbcTemplate(replicaDataSource).update("DELETE FROM employees");
+    }
+
+    @Test
+    void whenRelayCommitted_thenReadOnlyServiceCallReadsFromReplica() throws InterruptedException {
+        // Arrange
+        final var primary = new JdbcTemplate(primaryDataSource);
+        primary.update("INSERT INTO employee_changes (employee_id, type) VALUES (1, 'DELETED')");
+        final var deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (primary.queryForObject("SELECT count(*) FROM employee_changes WHERE published_at IS NULL",
+                Integer.class) > 0) {
+            assertTrue(Instant.now().isBefore(deadline), "The relay didn't publish the change");
+            Thread.sleep(50);
+        }
+        new JdbcTemplate(replicaDataSource).update("INSERT INTO employees (id, first_name, last_name, email, active) "
+                + "VALUES (1, 'Replica', 'Only', ?, true)", "replica@gmail.com");
+
+        // Act
+        final var employees = employeeService.getAllEmployees(new EmployeeFilterDTO(), PageRequest.ofSize(10));
+
+        // Assert
+        assertEquals(List.of("replica@gmail.com"), employees.stream().map(EmployeeDTO::getEmail).toList());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void whenEmployeeWritten_thenReadOnlyServiceCallReadsFromPrimary() {
+        // Arrange
+        final var dto = new EmployeeDTO();
+        dto.setFirstName(faker.name().firstName());
+        dto.setLastName(faker.name().lastName());
+        dto.setEmail("primary@gmail.com");
+        employeeService.saveEmployee(dto);
+
+        // Act
+        final var employees = employeeService.getAllEmployees(new EmployeeFilterDTO(), PageRequest.ofSize(10));
+
+        // Assert
+        assertEquals(List.of("primary@gmail.com"), employees.stream().map(EmployeeDTO::getEmail).toList());
+    }
+}
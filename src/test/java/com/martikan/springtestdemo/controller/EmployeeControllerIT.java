@@ -1,28 +1,41 @@
 package com.martikan.springtestdemo.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.github.javafaker.Faker;
 import com.martikan.springtestdemo.SpringTestDemoApplicationIT;
 import com.martikan.springtestdemo.apiConstant.Routes;
 import com.martikan.springtestdemo.domain.Employee;
 import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.proto.EmployeeList;
+import com.martikan.springtestdemo.proto.EmployeePage;
 import com.martikan.springtestdemo.repository.EmployeeRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
 
 import java.util.ArrayList;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import static com.martikan.springtestdemo.StatementBudget.atMostStatements;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.oneOf;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -87,11 +100,36 @@ public class EmployeeControllerIT extends SpringTestDemoApplicationIT {
 
         // Assert
         res.andExpect(status().isOk())
+                .andExpect(atMostStatements(1))
                 .andExpect(jsonPath("$[*].email",
                         everyItem(oneOf(employeeDTO1.getEmail(), employeeDTO2.getEmail()))))
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    void whenGetEmployeesAfterBulkUpdate_thenETagMatchesReturnedPage() throws Exception {
+        // Arrange
+        final var employeeId = employeeRepository.saveAndFlush(employee1).getId();
+        final var eTag = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(patch(Routes.EMPLOYEE_V1_PATH + "/active")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"ids\": [" + employeeId + "], \"active\": false}"))
+                .andExpect(status().isOk());
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].version", is(1)))
+                .andExpect(jsonPath("$[0].active", is(false)));
+        final var newETag = res.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH).header(HttpHeaders.IF_NONE_MATCH, newETag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void whenGetEmployeeById_thenReturnsEmployeeWithStatusOK() throws Exception {
         // Arrange
@@ -103,11 +141,113 @@ public class EmployeeControllerIT extends SpringTestDemoApplicationIT {
 
         // Assert
         res.andExpect(status().isOk())
+                .andExpect(atMostStatements(1))
                 .andExpect(jsonPath("$.firstName", is(employeeDTO1.getFirstName())))
                 .andExpect(jsonPath("$.lastName", is(employeeDTO1.getLastName())))
                 .andExpect(jsonPath("$.email", is(employeeDTO1.getEmail())));
     }
 
+    @Test
+    void whenGetEmployeesWithoutAccept_thenReturnsJson() throws Exception {
+        // Arrange
+        employeeRepository.saveAndFlush(employee1);
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void whenGetEmployeesWithAcceptProtobuf_thenReturnsEmployeeList() throws Exception {
+        // Arrange
+        final var employeesForSave = new ArrayList<Employee>();
+        employeesForSave.add(employee1);
+        employeesForSave.add(employee2);
+        employeeRepository.saveAllAndFlush(employeesForSave);
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH)
+                .accept(ProtobufHttpMessageConverter.PROTOBUF));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(content().contentType(ProtobufHttpMessageConverter.PROTOBUF));
+        final var employees = EmployeeList.parseFrom(res.andReturn().getResponse().getContentAsByteArray());
+        assertEquals(Set.of(employeeDTO1.getEmail(), employeeDTO2.getEmail()), employees.getEmployeesList().stream()
+                .map(com.martikan.springtestdemo.proto.Employee::getEmail)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void whenGetEmployeesAfterWithAcceptProtobuf_thenReturnsEmployeePage() throws Exception {
+        // Arrange
+        final var employeesForSave = new ArrayList<Employee>();
+        employeesForSave.add(employee1);
+        employeesForSave.add(employee2);
+        employeeRepository.saveAllAndFlush(employeesForSave);
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH)
+                .param("after", "")
+                .param("size", "1")
+                .accept(ProtobufHttpMessageConverter.PROTOBUF));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(content().contentType(ProtobufHttpMessageConverter.PROTOBUF));
+        final var page = EmployeePage.parseFrom(res.andReturn().getResponse().getContentAsByteArray());
+        assertEquals(1, page.getContentCount());
+        assertTrue(page.hasNextCursor());
+    }
+
+    @Test
+    void whenGetEmployeeByIdWithAcceptCbor_thenReturnsCborEmployee() throws Exception {
+        // Arrange
+        final var savedEmployee = employeeRepository.saveAndFlush(employee1);
+        final var employeeId = savedEmployee.getId();
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId)
+                .accept("application/cbor"));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"));
+        final var employee = new ObjectMapper(new CBORFactory())
+                .readTree(res.andReturn().getResponse().getContentAsByteArray());
+        assertEquals(employeeDTO1.getEmail(), employee.get("email").asText());
+        assertEquals(employeeId, employee.get("id").asLong());
+    }
+
+    @Test
+    void whenGetCachedEmployeeChangedBehindCache_thenETagMatchesReturnedBody() throws Exception {
+        // Arrange
+        final var employeeId = employeeRepository.saveAndFlush(employee1).getId();
+        mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        // Written behind the cache, which keeps serving version 0
+        final var changed = employeeRepository.findById(employeeId).orElseThrow();
+        changed.setFirstName("Changed");
+        employeeRepository.saveAndFlush(changed);
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\""));
+        final var revalidation = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\""));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.version", is(0)))
+                .andExpect(jsonPath("$.firstName", is(employee1.getFirstName())));
+        revalidation.andExpect(status().isNotModified());
+    }
+
     @Test
     void whenGetEmployeeByIdWhenIdNotExists_thenThrowsResourceNotFoundException() throws Exception {
         // Arrange
@@ -135,6 +275,8 @@ public class EmployeeControllerIT extends SpringTestDemoApplicationIT {
 
         // Assert
         res.andExpect(status().isOk())
+                // The update is a single statement, without loading the employee first
+                .andExpect(atMostStatements(1))
                 .andExpect(jsonPath("$.id", is(employeeId.intValue())))
                 .andExpect(jsonPath("$.firstName", is(updatedEmployee.getFirstName())))
                 .andExpect(jsonPath("$.lastName", is(updatedEmployee.getLastName())))
@@ -167,7 +309,8 @@ public class EmployeeControllerIT extends SpringTestDemoApplicationIT {
         final var res = mockMvc.perform(delete(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId));
 
         // Assert
-        res.andExpect(status().isNoContent());
+        res.andExpect(status().isNoContent())
+                .andExpect(atMostStatements(1));
     }
 
     @Test
@@ -180,6 +323,8 @@ public class EmployeeControllerIT extends SpringTestDemoApplicationIT {
 
         // Assert
         res.andExpect(status().isCreated())
+                // Insert of the employee and its change, plus at most one id allocation for each
+                .andExpect(atMostStatements(4))
                 .andExpect(jsonPath("$.firstName", is(employeeDTO1.getFirstName())))
                 .andExpect(jsonPath("$.lastName", is(employeeDTO1.getLastName())))
                 .andExpect(jsonPath("$.email", is(employeeDTO1.getEmail())));
@@ -3,8 +3,16 @@ package com.martikan.springtestdemo.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javafaker.Faker;
 import com.martikan.springtestdemo.apiConstant.Routes;
+import com.martikan.springtestdemo.dto.CursorPageDTO;
+import com.martikan.springtestdemo.dto.EmployeeActiveUpdateDTO;
+import com.martikan.springtestdemo.dto.EmployeeBulkResultDTO;
 import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
+import com.martikan.springtestdemo.dto.EmployeeImportReportDTO;
+import com.martikan.springtestdemo.exception.ConflictException;
+import com.martikan.springtestdemo.exception.PreconditionFailedException;
 import com.martikan.springtestdemo.exception.ResourceNotFoundException;
+import com.martikan.springtestdemo.service.EmployeeImportService;
 import com.martikan.springtestdemo.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,27 +21,44 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.oneOf;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
 public class EmployeeControllerTest {
 
     private final Faker faker = new Faker();
@@ -44,9 +69,18 @@ public class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeImportService employeeImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final ZonedDateTime UPDATED_AT = ZonedDateTime.parse("2023-09-01T10:15:30.123456Z");
+
+    private static final long VERSION = 3L;
+
+    private static final String ETAG = "\"3\"";
+
     private EmployeeDTO employeeDTO1;
 
     private EmployeeDTO employeeDTO2;
@@ -58,12 +92,16 @@ public class EmployeeControllerTest {
         employeeDTO1.setFirstName(faker.name().firstName());
         employeeDTO1.setLastName(faker.name().lastName());
         employeeDTO1.setEmail(employeeDTO1.getLastName().toLowerCase().trim() + "@gmail.com");
+        employeeDTO1.setVersion(VERSION);
+        employeeDTO1.setUpdatedAt(UPDATED_AT);
 
         employeeDTO2 = new EmployeeDTO();
         employeeDTO2.setId(2L);
         employeeDTO2.setFirstName(faker.name().firstName());
         employeeDTO2.setLastName(faker.name().lastName());
         employeeDTO2.setEmail(employeeDTO2.getLastName().toLowerCase().trim() + "@gmail.com");
+        employeeDTO2.setVersion(VERSION);
+        employeeDTO2.setUpdatedAt(UPDATED_AT);
     }
 
     @Test
@@ -83,13 +121,56 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.email", is(employeeDTO1.getEmail())));
     }
 
+    @Test
+    void whenSaveEmployees_thenReturnsResultPerEmployeeWithStatusOK() throws Exception {
+        // Arrange
+        final var results = List.of(
+                new EmployeeBulkResultDTO(0, employeeDTO1.getId(), employeeDTO1.getEmail(),
+                        EmployeeBulkResultDTO.Status.CREATED, null),
+                new EmployeeBulkResultDTO(1, null, employeeDTO2.getEmail(),
+                        EmployeeBulkResultDTO.Status.DUPLICATE, "Employee already exist with the given email"));
+        when(employeeService.saveEmployees(List.of(employeeDTO1, employeeDTO2))).thenReturn(results);
+
+        // Act
+        final var res = mockMvc.perform(post(Routes.EMPLOYEE_V1_PATH + "/bulk")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employeeDTO1, employeeDTO2))));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("DUPLICATE")));
+    }
+
+    @Test
+    void whenImportEmployees_thenReturnsImportReportWithStatusOK() throws Exception {
+        // Arrange
+        final var report = new EmployeeImportReportDTO(2, 1, 1,
+                List.of(new EmployeeImportReportDTO.Rejection(3, "email must be a well-formed email address")),
+                10, 200.0);
+        when(employeeImportService.importEmployees(any(InputStream.class))).thenReturn(report);
+
+        // Act
+        final var res = mockMvc.perform(post(Routes.EMPLOYEE_V1_PATH + "/import")
+                .contentType("text/csv")
+                .content("firstName,lastName,email\n"));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows", is(1)))
+                .andExpect(jsonPath("$.rejectedRows", is(1)))
+                .andExpect(jsonPath("$.rejections[0].line", is(3)));
+    }
+
     @Test
     void whenGetEmployees_thenReturnsListOfEmployeesWithStatusOK() throws Exception {
         // Arrange
         final var employeesList = new ArrayList<EmployeeDTO>();
         employeesList.add(employeeDTO1);
         employeesList.add(employeeDTO2);
-        when(employeeService.getAllEmployees(any(Pageable.class))).thenReturn(employeesList);
+        when(employeeService.getAllEmployees(any(EmployeeFilterDTO.class), any(Pageable.class)))
+                .thenReturn(employeesList);
 
         // Act
         final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH)
@@ -99,7 +180,99 @@ public class EmployeeControllerTest {
         res.andExpect(status().isOk())
             .andExpect(jsonPath("$[*].id",
                     everyItem(oneOf(employeeDTO1.getId().intValue(), employeeDTO2.getId().intValue()))))
-            .andExpect(jsonPath("$", hasSize(2)));
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void whenGetEmployeesWithMatchingETag_thenReturnsStatusNotModified() throws Exception {
+        // Arrange
+        when(employeeService.getAllEmployees(any(EmployeeFilterDTO.class), any(Pageable.class)))
+                .thenReturn(List.of(employeeDTO1, employeeDTO2));
+        final var eTag = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // Assert
+        res.andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void whenGetEmployeesWithFilters_thenPassesFiltersToServiceWithStatusOK() throws Exception {
+        // Arrange
+        final var createdFrom = ZonedDateTime.parse("2023-09-01T00:00:00Z");
+        final var expectedFilter = new EmployeeFilterDTO(true, createdFrom, null);
+        when(employeeService.getAllEmployees(eq(expectedFilter), any(Pageable.class))).thenReturn(List.of(employeeDTO1));
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH)
+                .param("active", "true")
+                .param("createdFrom", "2023-09-01T00:00:00Z")
+                .param("sort", "createdAt,desc"));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void whenGetEmployeesAfterCursor_thenReturnsCursorPageWithStatusOK() throws Exception {
+        // Arrange
+        final var page = new CursorPageDTO<>(List.of(employeeDTO1, employeeDTO2), "Mg");
+        when(employeeService.getEmployeesAfter(any(), anyInt())).thenReturn(page);
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH)
+                .param("after", "")
+                .param("size", "2"));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor", is("Mg")));
+    }
+
+    @Test
+    void whenSearchEmployees_thenReturnsCursorPageWithStatusOK() throws Exception {
+        // Arrange
+        final var page = new CursorPageDTO<>(List.of(employeeDTO1), null);
+        when(employeeService.searchEmployees(eq("jo"), any(), eq(10))).thenReturn(page);
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH + "/search")
+                .param("q", "jo"));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(employeeDTO1.getId().intValue())));
+    }
+
+    @Test
+    void whenExportEmployees_thenStreamsEmployeesAsNdjsonWithStatusOK() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            final Consumer<EmployeeDTO> consumer = invocation.getArgument(0);
+            consumer.accept(employeeDTO1);
+            consumer.accept(employeeDTO2);
+            return null;
+        }).when(employeeService).exportEmployees(any());
+
+        // Act
+        final var asyncResult = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        final var res = mockMvc.perform(asyncDispatch(asyncResult));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(employeeDTO1) + "\n"
+                        + objectMapper.writeValueAsString(employeeDTO2) + "\n"));
     }
 
     @DisplayName("Get employee by id API call - Happy flow")
@@ -114,11 +287,44 @@ public class EmployeeControllerTest {
 
         // Assert
         res.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
                 .andExpect(jsonPath("$.firstName", is(employeeDTO1.getFirstName())))
                 .andExpect(jsonPath("$.lastName", is(employeeDTO1.getLastName())))
                 .andExpect(jsonPath("$.email", is(employeeDTO1.getEmail())));
     }
 
+    @Test
+    void whenGetEmployeeByIdWithMatchingETag_thenReturnsStatusNotModified() throws Exception {
+        // Arrange
+        final var employeeId = employeeDTO1.getId();
+        when(employeeService.getEmployeeById(employeeId)).thenReturn(employeeDTO1);
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, ETAG));
+
+        // Assert
+        res.andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void whenGetEmployeeByIdWithStaleETag_thenReturnsEmployeeWithStatusOK() throws Exception {
+        // Arrange
+        final var employeeId = employeeDTO1.getId();
+        when(employeeService.getEmployeeById(employeeId)).thenReturn(employeeDTO1);
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\""));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$.email", is(employeeDTO1.getEmail())));
+    }
+
     @Test
     void whenGetEmployeeByIdWhenIdNotExists_thenThrowsResourceNotFoundException() throws Exception {
         // Arrange
@@ -140,8 +346,13 @@ public class EmployeeControllerTest {
         final var updatedEmployee = employeeDTO2;
         updatedEmployee.setId(employeeId);
         when(employeeService.getEmployeeById(employeeId)).thenReturn(employeeDTO1);
-        when(employeeService.updateEmployee(any(EmployeeDTO.class)))
-                .thenAnswer((invocation -> invocation.getArgument(0)));
+        when(employeeService.updateEmployee(any(EmployeeDTO.class), isNull()))
+                .thenAnswer((invocation -> {
+                    final EmployeeDTO dto = invocation.getArgument(0);
+                    dto.setVersion(VERSION);
+                    dto.setUpdatedAt(UPDATED_AT);
+                    return dto;
+                }));
 
         // Act
         final var res = mockMvc.perform(put(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId)
@@ -153,7 +364,68 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.id", is(employeeId.intValue())))
                 .andExpect(jsonPath("$.firstName", is(updatedEmployee.getFirstName())))
                 .andExpect(jsonPath("$.lastName", is(updatedEmployee.getLastName())))
-                .andExpect(jsonPath("$.email", is(updatedEmployee.getEmail())));
+                .andExpect(jsonPath("$.email", is(updatedEmployee.getEmail())))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    void whenUpdateEmployeeByIdWithIfMatch_thenPassesExpectedVersionToService() throws Exception {
+        // Arrange
+        final var employeeId = employeeDTO1.getId();
+        when(employeeService.updateEmployee(any(EmployeeDTO.class), eq(VERSION))).thenReturn(employeeDTO1);
+
+        // Act
+        final var res = mockMvc.perform(put(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId)
+                .header(HttpHeaders.IF_MATCH, ETAG)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeDTO1)));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    void whenUpdateEmployeeByIdWithWeakIfMatch_thenReturnsStatusPreconditionFailed() throws Exception {
+        // Act
+        final var res = mockMvc.perform(put(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeDTO1.getId())
+                .header(HttpHeaders.IF_MATCH, "W/" + ETAG)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeDTO1)));
+
+        // Assert
+        res.andExpect(status().isPreconditionFailed());
+        verify(employeeService, never()).updateEmployee(any(), any());
+    }
+
+    @Test
+    void whenUpdateEmployeeByIdModifiedInTheMeantime_thenReturnsStatusPreconditionFailed() throws Exception {
+        // Arrange
+        doThrow(PreconditionFailedException.class).when(employeeService)
+                .updateEmployee(any(EmployeeDTO.class), eq(VERSION));
+
+        // Act
+        final var res = mockMvc.perform(put(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeDTO1.getId())
+                .header(HttpHeaders.IF_MATCH, ETAG)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeDTO1)));
+
+        // Assert
+        res.andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void whenUpdateEmployeeByIdWithStaleVersion_thenReturnsStatusConflict() throws Exception {
+        // Arrange
+        doThrow(ConflictException.class).when(employeeService).updateEmployee(any(EmployeeDTO.class), isNull());
+
+        // Act
+        final var res = mockMvc.perform(put(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeDTO1.getId())
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeDTO1)));
+
+        // Assert
+        res.andExpect(status().isConflict());
     }
 
     @Test
@@ -162,7 +434,7 @@ public class EmployeeControllerTest {
         final var employeeId = employeeDTO1.getId();
         final var updatedEmployee = employeeDTO2;
         updatedEmployee.setId(employeeId);
-        doThrow(ResourceNotFoundException.class).when(employeeService).updateEmployee(updatedEmployee);
+        doThrow(ResourceNotFoundException.class).when(employeeService).updateEmployee(updatedEmployee, null);
 
         // Act
         final var res = mockMvc.perform(put(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId)
@@ -173,6 +445,58 @@ public class EmployeeControllerTest {
         res.andExpect(status().isNotFound());
     }
 
+    @DisplayName("Patch employee by id API call - Happy flow")
+    @Test
+    void whenPatchEmployeeById_thenReturnsPatchedEmployeeWithStatusOK() throws Exception {
+        // Arrange
+        final var employeeId = employeeDTO1.getId();
+        employeeDTO1.setActive(true);
+        when(employeeService.patchEmployee(eq(employeeId), any())).thenReturn(employeeDTO1);
+
+        // Act
+        final var res = mockMvc.perform(patch(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId)
+                .contentType("application/merge-patch+json")
+                .content("{\"active\": true}"));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(employeeId.intValue())))
+                .andExpect(jsonPath("$.active", is(true)));
+    }
+
+    @Test
+    void whenUpdateEmployeesActive_thenReturnsNumberOfUpdatedEmployeesWithStatusOK() throws Exception {
+        // Arrange
+        final var activeUpdate = new EmployeeActiveUpdateDTO();
+        activeUpdate.setIds(List.of(employeeDTO1.getId(), employeeDTO2.getId()));
+        activeUpdate.setActive(false);
+        when(employeeService.updateEmployeesActive(activeUpdate.getIds(), false)).thenReturn(2);
+
+        // Act
+        final var res = mockMvc.perform(patch(Routes.EMPLOYEE_V1_PATH + "/active")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(activeUpdate)));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(2)));
+    }
+
+    @Test
+    void whenUpdateEmployeesActiveWithoutIds_thenReturnsStatusBAD_REQUEST() throws Exception {
+        // Arrange
+        final var activeUpdate = new EmployeeActiveUpdateDTO();
+        activeUpdate.setActive(false);
+
+        // Act
+        final var res = mockMvc.perform(patch(Routes.EMPLOYEE_V1_PATH + "/active")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(activeUpdate)));
+
+        // Assert
+        res.andExpect(status().isBadRequest());
+    }
+
     @DisplayName("Delete employee by id API call - Happy flow")
     @Test
     void whenDeleteEmployeeById_thenReturnsStatusNO_CONTENT() throws Exception {
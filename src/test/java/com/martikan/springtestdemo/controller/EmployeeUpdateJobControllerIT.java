@@ -0,0 +1,108 @@
+package com.martikan.springtestdemo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import com.martikan.springtestdemo.SpringTestDemoApplicationIT;
+import com.martikan.springtestdemo.apiConstant.Routes;
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeUpdateJobDTO;
+import com.martikan.springtestdemo.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class EmployeeUpdateJobControllerIT extends SpringTestDemoApplicationIT {
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Employee employee1;
+
+    @BeforeEach
+    void setup() {
+        employee1 = new Employee();
+        employee1.setFirstName(faker.name().firstName());
+        employee1.setLastName(faker.name().lastName());
+        employee1.setEmail(employee1.getLastName().toLowerCase().trim() + "@gmail.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void whenSubmitUpdates_thenAppliesThemInTheBackgroundWithStatusACCEPTED() throws Exception {
+        // Arrange
+        employeeRepository.saveAndFlush(employee1);
+        final var firstUpdate = new EmployeeDTO(employee1.getId(), "First", employee1.getLastName(),
+                employee1.getEmail(), true, null, null);
+        final var lastUpdate = new EmployeeDTO(employee1.getId(), "Last", employee1.getLastName(),
+                employee1.getEmail(), false, null, null);
+
+        // Act
+        final var res = mockMvc.perform(post(Routes.UPDATE_JOBS_V1_PATH)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(firstUpdate, lastUpdate))));
+
+        // Assert
+        res.andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("$.submitted", is(2)))
+                .andExpect(jsonPath("$.coalesced", is(1)));
+        final var job = objectMapper.readValue(res.andReturn().getResponse().getContentAsString(),
+                EmployeeUpdateJobDTO.class);
+        final var finishedJob = awaitFinished(job.getId());
+        assertEquals(EmployeeUpdateJobDTO.Status.COMPLETED, finishedJob.getStatus());
+        assertEquals(1, finishedJob.getApplied());
+        final var actualEmployee = employeeRepository.findById(employee1.getId()).orElseThrow();
+        assertEquals("Last", actualEmployee.getFirstName());
+        assertEquals(false, actualEmployee.getActive());
+    }
+
+    @Test
+    void whenGetJobWhenIdNotExists_thenThrowsResourceNotFoundException() throws Exception {
+        // Arrange
+        final var jobId = "unknown";
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.UPDATE_JOBS_V1_PATH + "/{id}", jobId));
+
+        // Assert
+        res.andExpect(status().isNotFound());
+    }
+
+    private EmployeeUpdateJobDTO awaitFinished(final String id) throws Exception {
+        for (int i = 0; i < 500; i++) {
+            final var response = mockMvc.perform(get(Routes.UPDATE_JOBS_V1_PATH + "/{id}", id))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse();
+            final var job = objectMapper.readValue(response.getContentAsString(), EmployeeUpdateJobDTO.class);
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Update job " + id + " has not finished in time");
+    }
+}
@@ -0,0 +1,149 @@
+package com.martikan.springtestdemo.controller;
+
+import com.github.javafaker.Faker;
+import com.martikan.springtestdemo.apiConstant.Routes;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.exception.ResourceNotFoundException;
+import com.martikan.springtestdemo.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+@WebFluxTest(ReactiveEmployeeController.class)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTest {
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    private EmployeeDTO employeeDTO1;
+
+    private EmployeeDTO employeeDTO2;
+
+    @BeforeEach
+    void setup() {
+        employeeDTO1 = new EmployeeDTO();
+        employeeDTO1.setId(1L);
+        employeeDTO1.setFirstName(faker.name().firstName());
+        employeeDTO1.setLastName(faker.name().lastName());
+        employeeDTO1.setEmail(employeeDTO1.getLastName().toLowerCase().trim() + "@gmail.com");
+
+        employeeDTO2 = new EmployeeDTO();
+        employeeDTO2.setId(2L);
+        employeeDTO2.setFirstName(faker.name().firstName());
+        employeeDTO2.setLastName(faker.name().lastName());
+        employeeDTO2.setEmail(employeeDTO2.getLastName().toLowerCase().trim() + "@gmail.com");
+    }
+
+    @Test
+    void whenGetEmployees_thenReturnsFluxOfEmployeesWithStatusOK() {
+        // Arrange
+        when(employeeService.getAllEmployees(PageRequest.of(0, 25))).thenReturn(Flux.just(employeeDTO1, employeeDTO2));
+
+        // Act
+        final var res = webTestClient.get()
+                .uri(Routes.EMPLOYEE_V1_PATH)
+                .exchange();
+
+        // Assert
+        res.expectStatus().isOk()
+                .expectBodyList(EmployeeDTO.class)
+                .hasSize(2)
+                .contains(employeeDTO1, employeeDTO2);
+    }
+
+    @Test
+    void whenGetEmployeesWithInvalidSize_thenReturnsStatusBAD_REQUEST() {
+        // Arrange
+        // Act
+        final var res = webTestClient.get()
+                .uri(Routes.EMPLOYEE_V1_PATH + "?size=0")
+                .exchange();
+
+        // Assert
+        res.expectStatus().isBadRequest();
+    }
+
+    @Test
+    void whenGetEmployeeById_thenReturnsEmployeeWithStatusOK() {
+        // Arrange
+        when(employeeService.getEmployeeById(employeeDTO1.getId())).thenReturn(Mono.just(employeeDTO1));
+
+        // Act
+        final var res = webTestClient.get()
+                .uri(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeDTO1.getId())
+                .exchange();
+
+        // Assert
+        res.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employeeDTO1.getFirstName())
+                .jsonPath("$.email").isEqualTo(employeeDTO1.getEmail());
+    }
+
+    @Test
+    void whenGetEmployeeByIdWhenIdNotExists_thenReturnsStatusNOT_FOUND() {
+        // Arrange
+        final var employeeId = 111L;
+        when(employeeService.getEmployeeById(employeeId))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Employee not found with the given ID")));
+
+        // Act
+        final var res = webTestClient.get()
+                .uri(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeId)
+                .exchange();
+
+        // Assert
+        res.expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenSaveEmployee_thenReturnsSavedEmployeeWithStatusCREATED() {
+        // Arrange
+        when(employeeService.saveEmployee(any(EmployeeDTO.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act
+        final var res = webTestClient.post()
+                .uri(Routes.EMPLOYEE_V1_PATH)
+                .contentType(APPLICATION_JSON)
+                .bodyValue(employeeDTO1)
+                .exchange();
+
+        // Assert
+        res.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(employeeDTO1.getEmail());
+    }
+
+    @Test
+    void whenDeleteEmployeeById_thenReturnsStatusNO_CONTENT() {
+        // Arrange
+        when(employeeService.deleteEmployee(employeeDTO1.getId())).thenReturn(Mono.empty());
+
+        // Act
+        final var res = webTestClient.delete()
+                .uri(Routes.EMPLOYEE_V1_PATH + "/{id}", employeeDTO1.getId())
+                .exchange();
+
+        // Assert
+        res.expectStatus().isNoContent();
+    }
+
+}
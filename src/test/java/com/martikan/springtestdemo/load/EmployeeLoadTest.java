@@ -0,0 +1,332 @@
+package com.martikan.springtestdemo.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import com.martikan.springtestdemo.SpringTestDemoApplicationIT;
+import com.martikan.springtestdemo.apiConstant.Routes;
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.repository.EmployeeRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mixed read/write workload over every {@code EmployeeController} endpoint against a seeded PostgreSQL container.
+ * Not part of the regular test run, start it with {@code ./gradlew loadTest}. Per-endpoint throughput and
+ * p50/p99 latencies are written as JSON to {@code loadTest.output}, so results can be compared between builds.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeLoadTest extends SpringTestDemoApplicationIT {
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+
+    private final Faker faker = new Faker();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Cursor of the next keyset page of each worker, so they page through the table instead of all reading the
+     * first page.
+     */
+    private final ThreadLocal<String> afterCursors = ThreadLocal.withInitial(() -> "");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<Employee> seededEmployees;
+
+    @Test
+    void runMixedWorkload() throws Exception {
+        // Arrange
+        final var employees = Integer.getInteger("loadTest.employees", 10_000);
+        final var threads = Integer.getInteger("loadTest.threads", 16);
+        final var duration = Duration.ofSeconds(Integer.getInteger("loadTest.durationSeconds", 30));
+        final var output = Path.of(System.getProperty("loadTest.output", "build/load-test/results.json"));
+        seededEmployees = seed(employees);
+
+        // Act
+        final var recorders = new ArrayList<LatencyRecorder>(threads);
+        final var executor = Executors.newFixedThreadPool(threads);
+        final var deadline = System.nanoTime() + duration.toNanos();
+        for (int i = 0; i < threads; i++) {
+            final var recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    runRandomOperation(recorder);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS));
+
+        // Assert
+        final var report = report(recorders, duration);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        assertTrue(report.values().stream().mapToLong(EndpointResult::requests).sum() > 0);
+    }
+
+    private List<Employee> seed(final int count) {
+        employeeRepository.deleteAllInBatch();
+        final var seeded = new ArrayList<Employee>(count);
+        for (int from = 0; from < count; from += SEED_CHUNK_SIZE) {
+            final var chunk = new ArrayList<Employee>(SEED_CHUNK_SIZE);
+            for (int i = from; i < Math.min(count, from + SEED_CHUNK_SIZE); i++) {
+                final var employee = new Employee();
+                employee.setFirstName(faker.name().firstName());
+                employee.setLastName(faker.name().lastName());
+                employee.setEmail(uniqueEmail(employee.getLastName()));
+                employee.setActive(faker.bool().bool());
+                chunk.add(employee);
+            }
+            seeded.addAll(employeeRepository.saveAll(chunk));
+        }
+        return List.copyOf(seeded);
+    }
+
+    /**
+     * Picks an operation by weight, the weights add up to 100.
+     */
+    private void runRandomOperation(final LatencyRecorder recorder) {
+        final var random = ThreadLocalRandom.current();
+        final var employee = seededEmployees.get(random.nextInt(seededEmployees.size()));
+        final var roll = random.nextInt(100);
+        if (roll < 40) {
+            send(recorder, "GET /{id}", get("/" + employee.getId()));
+        } else if (roll < 50) {
+            final var page = random.nextInt(Math.max(1, seededEmployees.size() / 25));
+            send(recorder, "GET /?page", get("?page=" + page + "&size=25"));
+        } else if (roll < 60) {
+            final var page = send(recorder, "GET /?after", get("?after="
+                    + URLEncoder.encode(afterCursors.get(), StandardCharsets.UTF_8) + "&size=25"), JsonNode.class);
+            if (page != null) {
+                // Starts over from the first page after the last one
+                afterCursors.set(page.path("nextCursor").asText(""));
+            }
+        } else if (roll < 68) {
+            send(recorder, "PUT /{id}", json("PUT", "/" + employee.getId(), toDTO(employee)));
+        } else if (roll < 76) {
+            send(recorder, "PATCH /{id}", request("/" + employee.getId())
+                    .header("Content-Type", "application/merge-patch+json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"active\": " + random.nextBoolean() + "}")));
+        } else if (roll < 78) {
+            final var ids = random.ints(10, 0, seededEmployees.size())
+                    .mapToObj(i -> seededEmployees.get(i).getId())
+                    .toList();
+            send(recorder, "PATCH /active", json("PATCH", "/active",
+                    Map.of("ids", ids, "active", random.nextBoolean())));
+        } else if (roll < 86) {
+            final var created = send(recorder, "POST /", json("POST", "", newEmployeeDTO()), EmployeeDTO.class);
+            if (created != null) {
+                createdIds.add(created.getId());
+            }
+        } else if (roll < 89) {
+            send(recorder, "POST /bulk", json("POST", "/bulk",
+                    List.of(newEmployeeDTO(), newEmployeeDTO(), newEmployeeDTO(), newEmployeeDTO(), newEmployeeDTO())));
+        } else if (roll < 91) {
+            final var csv = new StringBuilder("firstName,lastName,email,active\n");
+            for (int i = 0; i < 5; i++) {
+                final var dto = newEmployeeDTO();
+                csv.append(dto.getFirstName()).append(',').append(dto.getLastName()).append(',')
+                        .append(dto.getEmail()).append(",true\n");
+            }
+            send(recorder, "POST /import", request("/import")
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofString(csv.toString())));
+        } else if (roll < 96) {
+            final var id = createdIds.poll();
+            if (id != null) {
+                send(recorder, "DELETE /{id}", request("/" + id).DELETE());
+            }
+        } else if (roll < 98) {
+            final var prefix = employee.getLastName().substring(0, Math.min(3, employee.getLastName().length()));
+            send(recorder, "GET /search", get("/search?q=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8)));
+        } else {
+            send(recorder, "GET /export", get("/export"));
+        }
+    }
+
+    /**
+     * Sends the request and records its latency.
+     */
+    private void send(final LatencyRecorder recorder, final String endpoint, final HttpRequest.Builder request) {
+        send(recorder, endpoint, request, null);
+    }
+
+    /**
+     * Sends the request and records its latency, a request which didn't complete counts as an error.
+     *
+     * @return the JSON body of a successful response read as the given type, otherwise {@code null}
+     */
+    private <T> T send(final LatencyRecorder recorder, final String endpoint, final HttpRequest.Builder request,
+                       final Class<T> responseType) {
+        final var startedAt = System.nanoTime();
+        try {
+            final var response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            final var success = response.statusCode() < 400;
+            recorder.record(endpoint, System.nanoTime() - startedAt, success);
+            if (success && responseType != null) {
+                return objectMapper.readValue(response.body(), responseType);
+            }
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - startedAt, false);
+        } catch (InterruptedException e) {
+            recorder.record(endpoint, System.nanoTime() - startedAt, false);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private HttpRequest.Builder request(final String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + Routes.EMPLOYEE_V1_PATH + path))
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest.Builder get(final String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder json(final String method, final String path, final Object body) {
+        try {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private EmployeeDTO newEmployeeDTO() {
+        final var dto = new EmployeeDTO();
+        dto.setFirstName(faker.name().firstName());
+        dto.setLastName(faker.name().lastName());
+        dto.setEmail(uniqueEmail(dto.getLastName()));
+        dto.setActive(true);
+        return dto;
+    }
+
+    private static EmployeeDTO toDTO(final Employee employee) {
+        final var dto = new EmployeeDTO();
+        dto.setId(employee.getId());
+        dto.setFirstName(employee.getFirstName());
+        dto.setLastName(employee.getLastName());
+        dto.setEmail(employee.getEmail());
+        dto.setActive(ThreadLocalRandom.current().nextBoolean());
+        return dto;
+    }
+
+    private static String uniqueEmail(final String lastName) {
+        return lastName.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "")
+                + "." + UUID.randomUUID().toString().substring(0, 13) + "@example.com";
+    }
+
+    private static Map<String, EndpointResult> report(final List<LatencyRecorder> recorders, final Duration duration) {
+        final var merged = new TreeMap<String, LatencyRecorder.Samples>();
+        recorders.forEach(recorder -> recorder.samples.forEach((endpoint, samples) ->
+                merged.computeIfAbsent(endpoint, key -> new LatencyRecorder.Samples()).addAll(samples)));
+
+        final var report = new LinkedHashMap<String, EndpointResult>();
+        merged.forEach((endpoint, samples) -> {
+            final var latencies = Arrays.copyOf(samples.latencies, samples.size);
+            Arrays.sort(latencies);
+            report.put(endpoint, new EndpointResult(
+                    samples.size,
+                    samples.errors,
+                    samples.size / (double) duration.toSeconds(),
+                    percentileMillis(latencies, 0.50),
+                    percentileMillis(latencies, 0.99)));
+        });
+        return report;
+    }
+
+    private static double percentileMillis(final long[] sortedLatencies, final double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        final var index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    record EndpointResult(long requests, long errors, double throughputPerSecond, double p50Millis, double p99Millis) {
+    }
+
+    /**
+     * Latencies of a single worker thread, so recording doesn't need synchronization.
+     */
+    private static final class LatencyRecorder {
+
+        private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+        void record(final String endpoint, final long latencyNanos, final boolean success) {
+            final var endpointSamples = samples.computeIfAbsent(endpoint, key -> new Samples());
+            endpointSamples.add(latencyNanos);
+            if (!success) {
+                endpointSamples.errors++;
+            }
+        }
+
+        private static final class Samples {
+
+            private long[] latencies = new long[1024];
+
+            private int size;
+
+            private long errors;
+
+            void add(final long latencyNanos) {
+                if (size == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, size * 2);
+                }
+                latencies[size++] = latencyNanos;
+            }
+
+            void addAll(final Samples other) {
+                for (int i = 0; i < other.size; i++) {
+                    add(other.latencies[i]);
+                }
+                errors += other.errors;
+            }
+        }
+    }
+}
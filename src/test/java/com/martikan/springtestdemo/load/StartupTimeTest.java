@@ -0,0 +1,215 @@
+package com.martikan.springtestdemo.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martikan.springtestdemo.apiConstant.Routes;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Time from launching the JVM to the first successful {@code GET} of the employees, with the application started
+ * from its jars as a separate process against a PostgreSQL container. Not part of the regular test run, start it
+ * with {@code ./gradlew startupTest}, add {@code -Paot} for the AOT modes. The median and best of
+ * {@code startupTest.runs} starts per mode are written as JSON to {@code startupTest.output}.
+ * <p>
+ * A mode combines {@code cds} (class data sharing archive dumped by a training run), {@code aot} (Spring AOT
+ * initialization) and {@code follower} (no migrations, no schema validation and a deferred JPA bootstrap, as on
+ * non-leader instances), e.g. {@code cds+follower}, or is {@code default}.
+ */
+@Tag("startup")
+@Testcontainers
+public class StartupTimeTest {
+
+    private static final String MAIN_CLASS = "com.martikan.springtestdemo.SpringTestDemoApplication";
+
+    private static final Set<String> OPTIONS = Set.of("default", "cds", "aot", "follower");
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Path workDir;
+
+    @Test
+    void measureTimeToFirstRequest() throws Exception {
+        // Arrange
+        final var runs = Integer.getInteger("startupTest.runs", 5);
+        final var modes = System.getProperty("startupTest.modes", "default,follower,cds,cds+follower").split(",");
+        final var output = Path.of(System.getProperty("startupTest.output", "build/startup-test/results.json"));
+        workDir = Files.createDirectories(output.toAbsolutePath().getParent());
+        // Migrates the schema, as the leader would, and warms up the file system cache
+        timeToFirstRequest("warmup", "default");
+
+        // Act
+        final var report = new LinkedHashMap<String, ModeResult>();
+        for (final var mode : modes) {
+            if (options(mode).contains("cds")) {
+                train(mode);
+            }
+            final var samples = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                samples[i] = timeToFirstRequest(mode + "-" + i, mode);
+            }
+            Arrays.sort(samples);
+            report.put(mode, new ModeResult(runs, samples[runs / 2] / 1_000_000.0, samples[0] / 1_000_000.0));
+        }
+
+        // Assert
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        assertFalse(report.isEmpty());
+    }
+
+    /**
+     * Starts the application once with the mode's options and exits when it's ready, dumping the classes it
+     * loaded into the mode's archive.
+     */
+    private void train(final String mode) throws Exception {
+        final var archive = archive(mode);
+        Files.deleteIfExists(archive);
+        final var process = start(mode + "-training", mode,
+                withPort(List.of("--app.startup.exit-on-ready=true"), freePort()), true);
+        assertTrue(process.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS), "Training run of " + mode);
+        assertEquals(0, process.exitValue(), "Training run of " + mode + " failed, see its log in " + workDir);
+        assertTrue(Files.exists(archive), "No archive dumped by the training run of " + mode);
+    }
+
+    /**
+     * @return nanoseconds from launching the JVM to the first successful request
+     */
+    private long timeToFirstRequest(final String run, final String mode) throws Exception {
+        final var port = freePort();
+        final var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + Routes.EMPLOYEE_V1_PATH
+                        + "?size=1"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        final var startedAt = System.nanoTime();
+        final var process = start(run, mode, withPort(List.of(), port), false);
+        try {
+            while (System.nanoTime() - startedAt < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new AssertionError("Run " + run + " exited, see its log in " + workDir);
+                }
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return System.nanoTime() - startedAt;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new AssertionError("Run " + run + " has not served a request in time");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private Process start(final String run, final String mode, final List<String> args, final boolean training)
+            throws IOException {
+        final var options = options(mode);
+        final var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        final var jvmArgs = System.getProperty("startupTest.jvmArgs", "");
+        if (!jvmArgs.isBlank()) {
+            command.addAll(List.of(jvmArgs.trim().split("\\s+")));
+        }
+        if (options.contains("aot")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        if (options.contains("cds")) {
+            command.add((training ? "-XX:ArchiveClassesAtExit=" : "-XX:SharedArchiveFile=") + archive(mode));
+        }
+        command.addAll(List.of("-cp", classpath(), MAIN_CLASS));
+        command.addAll(args);
+
+        final var builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve(run + ".log").toFile());
+        builder.environment().putAll(environment(options));
+        return builder.start();
+    }
+
+    private static Map<String, String> environment(final Set<String> options) {
+        final var environment = new HashMap<String, String>();
+        environment.put("DATASOURCE_URL", postgres.getJdbcUrl());
+        environment.put("DATASOURCE_USER", postgres.getUsername());
+        environment.put("DATASOURCE_PASSWORD", postgres.getPassword());
+        if (options.contains("follower")) {
+            environment.put("LIQUIBASE_ENABLED", "false");
+            environment.put("JPA_DDL_AUTO", "none");
+            environment.put("JPA_BOOTSTRAP_MODE", "deferred");
+        }
+        return environment;
+    }
+
+    private static Set<String> options(final String mode) {
+        final var options = Set.of(mode.trim().split("\\+"));
+        if (!OPTIONS.containsAll(options)) {
+            throw new IllegalArgumentException("Unknown startup mode " + mode + ", expected a combination of "
+                    + OPTIONS);
+        }
+        return options;
+    }
+
+    private Path archive(final String mode) {
+        return workDir.resolve(mode.trim().replace('+', '-') + ".jsa");
+    }
+
+    private static String classpath() {
+        final var classpath = System.getProperty("startupTest.classpath");
+        if (classpath == null) {
+            throw new IllegalStateException("startupTest.classpath is not set, run ./gradlew startupTest");
+        }
+        return classpath;
+    }
+
+    private static List<String> withPort(final List<String> args, final int port) {
+        final var withPort = new ArrayList<>(args);
+        withPort.add("--server.port=" + port);
+        return withPort;
+    }
+
+    private static int freePort() throws IOException {
+        try (final var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    record ModeResult(int runs, double medianMillis, double bestMillis) {
+    }
+}
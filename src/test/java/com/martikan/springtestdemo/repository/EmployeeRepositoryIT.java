@@ -3,15 +3,27 @@ package com.martikan.springtestdemo.repository;
 import com.github.javafaker.Faker;
 import com.martikan.springtestdemo.SpringTestDemoApplicationIT;
 import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EmployeeRepositoryIT extends SpringTestDemoApplicationIT {
@@ -119,7 +131,7 @@ public class EmployeeRepositoryIT extends SpringTestDemoApplicationIT {
         employeeRepository.save(employee1);
 
         // Act
-        final var actualEmployee = employeeRepository.findByEmail(employee1.getEmail());
+        final var actualEmployee = employeeRepository.findByEmail(employee1.getEmail().toUpperCase(Locale.ROOT));
 
         // Assert
         assertTrue(actualEmployee.isPresent());
@@ -130,15 +142,30 @@ public class EmployeeRepositoryIT extends SpringTestDemoApplicationIT {
     }
 
     @Test
-    void whenExistsEmployeeByEmail_thenReturnsBoolean() {
+    void whenFindExistingEmails_thenReturnsOnlyStoredEmails() {
         // Arrange
         employeeRepository.save(employee1);
 
         // Act
-        final var actualEmployee = employeeRepository.existsEmployeeByEmail(employee1.getEmail());
+        final var existingEmails = employeeRepository.findExistingEmails(
+                List.of(employee1.getEmail().toLowerCase(Locale.ROOT), employee2.getEmail().toLowerCase(Locale.ROOT)));
 
         // Assert
-        assertTrue(actualEmployee);
+        assertEquals(Set.of(employee1.getEmail().toLowerCase(Locale.ROOT)), existingEmails);
+    }
+
+    @Test
+    void whenSaveEmployeeWithEmailDifferingOnlyInCase_thenThrowsDataIntegrityViolationException() {
+        // Arrange
+        employeeRepository.saveAndFlush(employee1);
+        employee2.setEmail(employee1.getEmail().toUpperCase(Locale.ROOT));
+
+        // Act
+        final var exception = assertThrows(DataIntegrityViolationException.class,
+                () -> employeeRepository.saveAndFlush(employee2));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("employees_email_lower_key"));
     }
 
     @Test
@@ -178,6 +205,122 @@ public class EmployeeRepositoryIT extends SpringTestDemoApplicationIT {
         assertTrue(actualEmployee.isEmpty());
     }
 
+    @Test
+    void whenUpdateEmployeeWithStatement_thenUpdatesRow() {
+        // Arrange
+        employeeRepository.save(employee1);
+        final var updatedAt = ZonedDateTime.now();
+
+        // Act
+        final var version = employeeRepository.updateEmployee(employee1.getId(), "first", "last",
+                employee1.getEmail(), false, null, updatedAt);
+        final var actualEmployee = employeeRepository.findById(employee1.getId());
+
+        // Assert
+        assertEquals(Optional.of(1L), version);
+        assertTrue(actualEmployee.isPresent());
+        assertEquals("first", actualEmployee.get().getFirstName());
+        assertEquals("last", actualEmployee.get().getLastName());
+        assertFalse(actualEmployee.get().getActive());
+        assertNotNull(actualEmployee.get().getUpdatedAt());
+    }
+
+    @Test
+    void whenUpdateEmployeeWithStatementWhenIdNotExists_thenUpdatesNothing() {
+        // Arrange
+        // Act
+        final var version = employeeRepository.updateEmployee(-1L, "first", "last",
+                employee1.getEmail(), true, null, ZonedDateTime.now());
+
+        // Assert
+        assertTrue(version.isEmpty());
+    }
+
+    @Test
+    void whenUpdateEmployeeWithStatementWithStaleVersion_thenUpdatesNothing() {
+        // Arrange
+        employeeRepository.saveAndFlush(employee1);
+        employeeRepository.updateEmployee(employee1.getId(), "first", "last", employee1.getEmail(), true,
+                0L, ZonedDateTime.now());
+
+        // Act
+        final var version = employeeRepository.updateEmployee(employee1.getId(), "second", "last",
+                employee1.getEmail(), true, 0L, ZonedDateTime.now());
+
+        // Assert
+        assertTrue(version.isEmpty());
+        assertEquals(1L, employeeRepository.findById(employee1.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void whenUpdateEmployees_thenUpdatesRowsWithCurrentOrNoVersion() {
+        // Arrange
+        employeeRepository.saveAllAndFlush(List.of(employee1, employee2));
+        final var update1 = new EmployeeDTO(employee1.getId(), "first", "last", employee1.getEmail(), false,
+                null, null);
+        final var update2 = new EmployeeDTO(employee2.getId(), "second", "last", employee2.getEmail(), true,
+                5L, null);
+        final var update3 = new EmployeeDTO(-1L, "third", "last", "third@gmail.com", true, null, null);
+
+        // Act
+        final var updatedIds = employeeRepository.updateEmployees(List.of(update1, update2, update3),
+                ZonedDateTime.now());
+
+        // Assert
+        assertEquals(List.of(employee1.getId()), updatedIds);
+        final var actualEmployee1 = employeeRepository.findById(employee1.getId()).orElseThrow();
+        assertEquals("first", actualEmployee1.getFirstName());
+        assertFalse(actualEmployee1.getActive());
+        assertEquals(1L, actualEmployee1.getVersion());
+        assertEquals(employee2.getFirstName(),
+                employeeRepository.findById(employee2.getId()).orElseThrow().getFirstName());
+    }
+
+    @Test
+    void whenUpdateEmployeesWithTakenEmail_thenThrowsDataIntegrityViolationException() {
+        // Arrange
+        employeeRepository.saveAllAndFlush(List.of(employee1, employee2));
+        final var update = new EmployeeDTO(employee1.getId(), "first", "last", employee2.getEmail(), true,
+                null, null);
+
+        // Act
+        assertThrows(DataIntegrityViolationException.class,
+                () -> employeeRepository.updateEmployees(List.of(update), ZonedDateTime.now()));
+
+        // Assert
+        assertEquals(employee1.getEmail(), employeeRepository.findById(employee1.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void whenUpdateActiveByIds_thenUpdatesOnlyChangedRows() {
+        // Arrange
+        employee2.setActive(false);
+        employeeRepository.saveAllAndFlush(List.of(employee1, employee2));
+
+        // Act
+        final var updatedRows = employeeRepository.updateActiveByIds(
+                List.of(employee1.getId(), employee2.getId()), false, ZonedDateTime.now());
+
+        // Assert
+        assertEquals(1, updatedRows);
+        assertFalse(employeeRepository.findById(employee1.getId()).orElseThrow().getActive());
+        assertFalse(employeeRepository.findById(employee2.getId()).orElseThrow().getActive());
+    }
+
+    @Test
+    void whenDeleteEmployeeByIdWithStatement_thenDeletesRow() {
+        // Arrange
+        employeeRepository.save(employee1);
+
+        // Act
+        final var deletedRows = employeeRepository.deleteEmployeeById(employee1.getId());
+
+        // Assert
+        assertEquals(1, deletedRows);
+        assertTrue(employeeRepository.findById(employee1.getId()).isEmpty());
+        assertEquals(0, employeeRepository.deleteEmployeeById(employee1.getId()));
+    }
+
     @Test
     void whenFindEmployeeByFirstNameAndLastName_thenReturnsEmployee() {
         // Arrange
@@ -196,4 +339,105 @@ public class EmployeeRepositoryIT extends SpringTestDemoApplicationIT {
         assertTrue(actualEmployee.get().getActive());
     }
 
+    @Test
+    void whenFindAllDTOsAfterId_thenReturnsNextEmployeesOrderedById() {
+        // Arrange
+        final var savedEmployees = new ArrayList<Employee>();
+        savedEmployees.add(employee1);
+        savedEmployees.add(employee2);
+        employeeRepository.saveAllAndFlush(savedEmployees);
+
+        // Act
+        final var firstPage = employeeRepository.findAllDTOsAfterId(0L, PageRequest.ofSize(1));
+        final var secondPage = employeeRepository.findAllDTOsAfterId(firstPage.get(0).getId(), PageRequest.ofSize(1));
+        final var lastPage = employeeRepository.findAllDTOsAfterId(secondPage.get(0).getId(), PageRequest.ofSize(1));
+
+        // Assert
+        assertEquals(1, firstPage.size());
+        assertEquals(employee1.getEmail(), firstPage.get(0).getEmail());
+        assertEquals(1, secondPage.size());
+        assertEquals(employee2.getEmail(), secondPage.get(0).getEmail());
+        assertTrue(lastPage.isEmpty());
+    }
+
+    @Test
+    void whenSearchEmployees_thenReturnsRankedPagesOfMatchingEmployees() {
+        // Arrange
+        employee1.setFirstName("Johnny");
+        employee1.setLastName("Doe");
+        employee1.setEmail("johnny.doe@gmail.com");
+        employee2.setFirstName("Joanna");
+        employee2.setLastName("Smith");
+        employee2.setEmail("jsmith@gmail.com");
+        final var employee3 = new Employee();
+        employee3.setFirstName("Peter");
+        employee3.setLastName("Parker");
+        employee3.setEmail("peter.parker@gmail.com");
+        employeeRepository.saveAllAndFlush(List.of(employee1, employee2, employee3));
+
+        // Act
+        final var firstPage = employeeRepository.searchEmployees("jo:*", "jo%", Float.MAX_VALUE, 0L, 1);
+        final var secondPage = employeeRepository.searchEmployees("jo:*", "jo%",
+                firstPage.get(0).getRank(), firstPage.get(0).getId(), 1);
+        final var lastPage = employeeRepository.searchEmployees("jo:*", "jo%",
+                secondPage.get(0).getRank(), secondPage.get(0).getId(), 1);
+        final var parkerPage = employeeRepository.searchEmployees("par:*", "par%", Float.MAX_VALUE, 0L, 10);
+
+        // Assert
+        assertEquals(Set.of(employee1.getEmail(), employee2.getEmail()),
+                Set.of(firstPage.get(0).getEmail(), secondPage.get(0).getEmail()));
+        assertTrue(firstPage.get(0).getRank() >= secondPage.get(0).getRank());
+        assertTrue(lastPage.isEmpty());
+        assertEquals(1, parkerPage.size());
+        assertEquals(employee3.getEmail(), parkerPage.get(0).getEmail());
+        assertEquals(employee3.getVersion(), parkerPage.get(0).getVersion());
+        assertNotNull(parkerPage.get(0).getUpdatedAt());
+    }
+
+    @Test
+    void whenFindAllMatchingFilter_thenReturnsOnlyMatchingEmployees() {
+        // Arrange
+        employee2.setActive(false);
+        employeeRepository.saveAllAndFlush(List.of(employee1, employee2));
+        final var dayAgo = ZonedDateTime.now().minusDays(1);
+        final var pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+
+        // Act
+        final var activeEmployees = employeeRepository.findAll(
+                EmployeeSpecifications.matching(new EmployeeFilterDTO(true, dayAgo, null)), pageable);
+        final var allEmployees = employeeRepository.findAll(
+                EmployeeSpecifications.matching(new EmployeeFilterDTO()), pageable);
+        final var oldEmployees = employeeRepository.findAll(
+                EmployeeSpecifications.matching(new EmployeeFilterDTO(null, null, dayAgo)), pageable);
+
+        // Assert
+        assertEquals(1, activeEmployees.getNumberOfElements());
+        assertEquals(employee1.getEmail(), activeEmployees.getContent().get(0).getEmail());
+        assertEquals(2, allEmployees.getNumberOfElements());
+        assertTrue(oldEmployees.isEmpty());
+    }
+
+    @Test
+    void whenFindDTOs_thenReturnsProjectedEmployees() {
+        // Arrange
+        employee2.setActive(false);
+        employeeRepository.saveAllAndFlush(List.of(employee1, employee2));
+
+        // Act
+        final var dto = employeeRepository.findDTOById(employee2.getId());
+        final var activeDTOs = employeeRepository.findAllDTOs(
+                EmployeeSpecifications.matching(new EmployeeFilterDTO(true, null, null)),
+                PageRequest.of(0, 10, Sort.by("id")));
+        final var secondPage = employeeRepository.findAllDTOs(null, PageRequest.of(1, 1, Sort.by("id")));
+
+        // Assert
+        assertTrue(dto.isPresent());
+        assertEquals(employee2.getEmail(), dto.get().getEmail());
+        assertFalse(dto.get().isActive());
+        assertEquals(1, activeDTOs.size());
+        assertEquals(employee1.getId(), activeDTOs.get(0).getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(employee2.getId(), secondPage.get(0).getId());
+    }
+
 }
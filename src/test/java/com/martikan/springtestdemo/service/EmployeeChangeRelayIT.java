@@ -0,0 +1,193 @@
+package com.martikan.springtestdemo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import com.martikan.springtestdemo.SpringTestDemoApplicationIT;
+import com.martikan.springtestdemo.apiConstant.Routes;
+import com.martikan.springtestdemo.domain.EmployeeChangeType;
+import com.martikan.springtestdemo.domain.Timestamps;
+import com.martikan.springtestdemo.dto.EmployeeChangeDTO;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.repository.EmployeeChangeRepository;
+import com.martikan.springtestdemo.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class EmployeeChangeRelayIT extends SpringTestDemoApplicationIT {
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeChangeService changeService;
+
+    @Autowired
+    private EmployeeChangeRelay relay;
+
+    @Autowired
+    private InMemoryEmployeeChangeSink sink;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeChangeRepository changeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private EmployeeDTO employeeDTO1;
+
+    @BeforeEach
+    void setup() {
+        employeeDTO1 = new EmployeeDTO();
+        employeeDTO1.setFirstName(faker.name().firstName());
+        employeeDTO1.setLastName(faker.name().lastName());
+        employeeDTO1.setEmail(employeeDTO1.getLastName().toLowerCase().trim() + "@gmail.com");
+        employeeDTO1.setActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        changeRepository.deleteAll();
+        sink.clear();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void whenRelayChanges_thenPublishesEveryMutationInOrder() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        savedEmployee.setFirstName(faker.name().firstName());
+        employeeService.updateEmployee(savedEmployee, null);
+        employeeService.deleteEmployee(savedEmployee.getId());
+
+        // Act
+        final var published = relay.relayChanges();
+
+        // Assert
+        assertEquals(3, published);
+        final var changes = sink.getChanges();
+        assertEquals(List.of(EmployeeChangeType.CREATED, EmployeeChangeType.UPDATED, EmployeeChangeType.DELETED),
+                changes.stream().map(EmployeeChangeDTO::getType).toList());
+        assertTrue(changes.stream().allMatch(change -> change.getEmployeeId().equals(savedEmployee.getId())));
+        assertTrue(changes.get(0).getSeq() < changes.get(1).getSeq());
+        assertTrue(changes.get(1).getSeq() < changes.get(2).getSeq());
+        assertTrue(changes.get(1).getPayload().contains(savedEmployee.getFirstName()));
+        assertEquals(changes, changeService.getChangesAfter(0, 100));
+    }
+
+    @Test
+    void whenUpdateEmployeeWithStatement_thenRecordsPayloadAsSerializedByJackson() throws Exception {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        savedEmployee.setFirstName(faker.name().firstName());
+
+        // Act
+        final var updatedEmployee = employeeService.updateEmployee(savedEmployee, null);
+
+        // Assert
+        relay.relayChanges();
+        final var payload = sink.getChanges().get(1).getPayload();
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(updatedEmployee)),
+                objectMapper.readTree(payload));
+    }
+
+    @Test
+    void whenRelayChangesAgain_thenPublishesNothing() {
+        // Arrange
+        employeeService.saveEmployee(employeeDTO1);
+        relay.relayChanges();
+        final var lastSeq = sink.getChanges().get(0).getSeq();
+
+        // Act
+        final var published = relay.relayChanges();
+
+        // Assert
+        assertEquals(0, published);
+        assertEquals(1, sink.getChanges().size());
+        assertTrue(changeService.getChangesAfter(lastSeq, 100).isEmpty());
+    }
+
+    @Test
+    void whenSaveEmployeeFails_thenRecordsNoChange() {
+        // Arrange
+        employeeService.saveEmployee(employeeDTO1);
+        final var duplicateDTO = new EmployeeDTO();
+        duplicateDTO.setFirstName(faker.name().firstName());
+        duplicateDTO.setLastName(faker.name().lastName());
+        duplicateDTO.setEmail(employeeDTO1.getEmail());
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.saveEmployee(duplicateDTO));
+
+        // Assert
+        assertEquals(1, changeRepository.count());
+    }
+
+    @Test
+    void whenPurgePublishedChanges_thenDeletesOnlyPublishedChangesPastRetention() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        relay.relayChanges();
+        final var expiredChange = changeRepository.findAll().get(0);
+        expiredChange.setPublishedAt(Timestamps.now().minusDays(8));
+        changeRepository.save(expiredChange);
+        employeeService.deleteEmployee(savedEmployee.getId());
+
+        // Act
+        final var purged = relay.purgePublishedChanges();
+
+        // Assert
+        assertEquals(1, purged);
+        final var changes = changeRepository.findAll();
+        assertEquals(1, changes.size());
+        assertEquals(EmployeeChangeType.DELETED, changes.get(0).getType());
+    }
+
+    @Test
+    void whenGetChanges_thenReturnsPublishedChangesWithStatusOK() throws Exception {
+        // Arrange
+        employeeService.saveEmployee(employeeDTO1);
+        relay.relayChanges();
+
+        // Act
+        final var res = mockMvc.perform(get(Routes.CHANGES_V1_PATH).param("since", "0"));
+
+        // Assert
+        res.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].type", is("CREATED")))
+                .andExpect(jsonPath("$[0].payload.email", is(employeeDTO1.getEmail())));
+    }
+
+    @Test
+    void whenGetChangesWithNegativeSince_thenReturnsStatusBAD_REQUEST() throws Exception {
+        // Act
+        final var res = mockMvc.perform(get(Routes.CHANGES_V1_PATH).param("since", "-1"));
+
+        // Assert
+        res.andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,118 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.config.EmployeeImportProperties;
+import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.domain.EmployeeChangeType;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.mapper.EmployeeMapper;
+import com.martikan.springtestdemo.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeImportServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeMapper mapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EmployeeChangeService changeService;
+
+    private EmployeeImportServiceImpl employeeImportService;
+
+    @BeforeEach
+    void setup() {
+        final var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        final var properties = new EmployeeImportProperties();
+        properties.setWorkers(2);
+        employeeImportService = new EmployeeImportServiceImpl(employeeRepository, mapper, validator,
+                transactionTemplate, entityManager, changeService, new SimpleAsyncTaskExecutor(), properties);
+    }
+
+    @DisplayName("Importing employees service call - Happy flow")
+    @Test
+    void whenImportEmployees_thenReturnsReportWithImportedAndRejectedRows() {
+        // Arrange
+        final var csv = """
+                first_name,last_name,email,active
+                John,Doe,john.doe@gmail.com,false
+                "Jane, Mary",Doe,jane.doe@gmail.com,
+                ,Doe,not-an-email,true
+                Jim,Doe,john.doe@gmail.com,true
+                """;
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(employeeRepository.findExistingEmails(Set.of("john.doe@gmail.com", "jane.doe@gmail.com")))
+                .thenReturn(Collections.emptySet());
+        when(mapper.toEntity(any(EmployeeDTO.class))).thenReturn(new Employee());
+
+        // Act
+        final var report = employeeImportService.importEmployees(toInputStream(csv));
+
+        // Assert
+        assertEquals(4, report.getTotalRows());
+        assertEquals(2, report.getImportedRows());
+        assertEquals(2, report.getRejectedRows());
+        assertEquals(4, report.getRejections().get(0).getLine());
+        assertEquals(5, report.getRejections().get(1).getLine());
+        verify(mapper, times(2)).toEntity(any(EmployeeDTO.class));
+        verify(employeeRepository, times(1)).saveAll(anyList());
+        verify(changeService, times(1)).recordChanges(eq(EmployeeChangeType.CREATED), anyList());
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void whenImportEmployeesWithoutRequiredColumns_thenThrowsBadRequestException() {
+        // Arrange
+        final var csv = """
+                firstName,lastName
+                John,Doe
+                """;
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeImportService.importEmployees(toInputStream(csv)));
+
+        // Assert
+        verify(employeeRepository, never()).saveAll(anyList());
+    }
+
+    private static ByteArrayInputStream toInputStream(final String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,401 @@
+package com.martikan.springtestdemo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import com.martikan.springtestdemo.SpringTestDemoApplicationIT;
+import com.martikan.springtestdemo.config.CacheConfig;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.exception.ConflictException;
+import com.martikan.springtestdemo.exception.PreconditionFailedException;
+import com.martikan.springtestdemo.exception.ResourceNotFoundException;
+import com.martikan.springtestdemo.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class EmployeeServiceIT extends SpringTestDemoApplicationIT {
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache employeesCache;
+
+    private Statistics statistics;
+
+    private EmployeeDTO employeeDTO1;
+
+    @BeforeEach
+    void setup() {
+        employeesCache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        employeeDTO1 = new EmployeeDTO();
+        employeeDTO1.setFirstName(faker.name().firstName());
+        employeeDTO1.setLastName(faker.name().lastName());
+        employeeDTO1.setEmail(employeeDTO1.getLastName().toLowerCase().trim() + "@gmail.com");
+        employeeDTO1.setActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        employeesCache.clear();
+    }
+
+    @Test
+    void whenGetEmployeeById_thenServesItFromCache() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        employeesCache.clear();
+
+        // Act
+        employeeService.getEmployeeById(savedEmployee.getId());
+        // Removed behind the cache, so only a cache hit can still return it
+        employeeRepository.deleteById(savedEmployee.getId());
+        final var cachedEmployee = employeeService.getEmployeeById(savedEmployee.getId());
+
+        // Assert
+        assertNotNull(cachedEmployee);
+        assertEquals(employeeDTO1.getEmail(), cachedEmployee.getEmail());
+    }
+
+    @Test
+    void whenDeleteEmployee_thenEvictsItFromCache() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        employeeService.getEmployeeById(savedEmployee.getId());
+
+        // Act
+        employeeService.deleteEmployee(savedEmployee.getId());
+
+        // Assert
+        assertNull(employeesCache.get(savedEmployee.getId()));
+    }
+
+    @Test
+    void whenUpdateEmployeeInTransaction_thenPutsItIntoCacheOnlyAfterCommit() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        employeeService.getEmployeeById(savedEmployee.getId());
+        // A copy, the cache holds the saved instance itself
+        final var update = objectMapper.convertValue(savedEmployee, EmployeeDTO.class);
+        update.setFirstName("Updated");
+
+        // Act
+        final var cachedBeforeCommit = transactionTemplate.execute(status -> {
+            employeeService.updateEmployee(update, null);
+            return employeesCache.get(savedEmployee.getId(), EmployeeDTO.class);
+        });
+
+        // Assert
+        assertNotNull(cachedBeforeCommit);
+        assertEquals(employeeDTO1.getFirstName(), cachedBeforeCommit.getFirstName());
+        assertEquals("Updated", employeesCache.get(savedEmployee.getId(), EmployeeDTO.class).getFirstName());
+    }
+
+    @Test
+    void whenUpdateEmployeesActiveRolledBack_thenKeepsCache() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        employeeService.getEmployeeById(savedEmployee.getId());
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeService.updateEmployeesActive(List.of(savedEmployee.getId()), false);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertNotNull(employeesCache.get(savedEmployee.getId()));
+        assertTrue(employeeService.getEmployeeById(savedEmployee.getId()).isActive());
+    }
+
+    @Test
+    void whenUpdateEmployeesActive_thenEvictsOnlyUpdatedEmployeesFromCache() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        final var otherDTO = new EmployeeDTO();
+        otherDTO.setFirstName(faker.name().firstName());
+        otherDTO.setLastName(faker.name().lastName());
+        otherDTO.setEmail("other." + employeeDTO1.getEmail());
+        final var savedOther = employeeService.saveEmployee(otherDTO);
+
+        // Act
+        employeeService.updateEmployeesActive(List.of(savedEmployee.getId()), false);
+
+        // Assert
+        assertNull(employeesCache.get(savedEmployee.getId()));
+        assertNotNull(employeesCache.get(savedOther.getId()));
+        assertFalse(employeeService.getEmployeeById(savedEmployee.getId()).isActive());
+    }
+
+    @Test
+    void whenUpdateEmployeesInTransaction_thenEvictsCacheOnlyAfterCommit() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        employeeService.getEmployeeById(savedEmployee.getId());
+        final var update = objectMapper.convertValue(savedEmployee, EmployeeDTO.class);
+        update.setLastName("Updated");
+
+        // Act
+        final var cachedBeforeCommit = transactionTemplate.execute(status -> {
+            employeeService.updateEmployees(List.of(update));
+            return employeesCache.get(savedEmployee.getId());
+        });
+
+        // Assert
+        assertNotNull(cachedBeforeCommit);
+        assertNull(employeesCache.get(savedEmployee.getId()));
+        assertEquals("Updated", employeeService.getEmployeeById(savedEmployee.getId()).getLastName());
+    }
+
+    @Test
+    void whenUpdateEmployees_thenEvictsOnlyUpdatedEmployeesFromCache() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        final var otherDTO = new EmployeeDTO();
+        otherDTO.setFirstName(faker.name().firstName());
+        otherDTO.setLastName(faker.name().lastName());
+        otherDTO.setEmail("other." + employeeDTO1.getEmail());
+        final var savedOther = employeeService.saveEmployee(otherDTO);
+        final var update = objectMapper.convertValue(savedEmployee, EmployeeDTO.class);
+        update.setLastName("Updated");
+
+        // Act
+        employeeService.updateEmployees(List.of(update));
+
+        // Assert
+        assertNull(employeesCache.get(savedEmployee.getId()));
+        assertNotNull(employeesCache.get(savedOther.getId()));
+        assertEquals("Updated", employeeService.getEmployeeById(savedEmployee.getId()).getLastName());
+    }
+
+    @Test
+    void whenGetEmployees_thenSelectsDTOsWithoutLoadingEntities() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        employeesCache.clear();
+        statistics.clear();
+
+        // Act
+        final var employees = employeeService.getAllEmployees(new EmployeeFilterDTO(), PageRequest.ofSize(10));
+        final var employee = employeeService.getEmployeeById(savedEmployee.getId());
+
+        // Assert
+        assertEquals(List.of(savedEmployee), employees);
+        assertEquals(savedEmployee.getFirstName(), employee.getFirstName());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void whenSaveEmployeeWithEmailDifferingOnlyInCase_thenThrowsBadRequestException() {
+        // Arrange
+        employeeService.saveEmployee(employeeDTO1);
+        final var duplicateDTO = new EmployeeDTO();
+        duplicateDTO.setFirstName(faker.name().firstName());
+        duplicateDTO.setLastName(faker.name().lastName());
+        duplicateDTO.setEmail(employeeDTO1.getEmail().toUpperCase(Locale.ROOT));
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.saveEmployee(duplicateDTO));
+
+        // Assert
+        assertEquals(1, employeeRepository.count());
+        assertTrue(employeeRepository.findByEmail(duplicateDTO.getEmail()).isPresent());
+    }
+
+    @Test
+    void whenSaveEmployeesInsertedConcurrently_thenThrowsBadRequestException() throws InterruptedException {
+        // Arrange
+        final var inserted = new CountDownLatch(1);
+        final var commit = new CountDownLatch(1);
+        // Not committed yet, so the existing emails check misses it and the insert waits on the unique index
+        final var concurrentInsert = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    employeeService.saveEmployee(employeeDTO1);
+                    inserted.countDown();
+                    await(commit);
+                }));
+        inserted.await();
+        CompletableFuture.runAsync(() -> {
+            while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'",
+                    Integer.class) == 0) {
+                Thread.onSpinWait();
+            }
+            commit.countDown();
+        });
+        final var duplicateDTO = new EmployeeDTO();
+        duplicateDTO.setFirstName(faker.name().firstName());
+        duplicateDTO.setLastName(faker.name().lastName());
+        duplicateDTO.setEmail(employeeDTO1.getEmail().toUpperCase(Locale.ROOT));
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.saveEmployees(List.of(duplicateDTO)));
+
+        // Assert
+        concurrentInsert.join();
+        assertEquals(1, employeeRepository.count());
+        assertTrue(employeeRepository.findByEmail(employeeDTO1.getEmail()).isPresent());
+    }
+
+    @Test
+    void whenUpdateEmployeesToEmailDifferingOnlyInCase_thenThrowsBadRequestException() {
+        // Arrange
+        employeeService.saveEmployee(employeeDTO1);
+        final var otherDTO = new EmployeeDTO();
+        otherDTO.setFirstName(faker.name().firstName());
+        otherDTO.setLastName(faker.name().lastName());
+        otherDTO.setEmail("other." + employeeDTO1.getEmail());
+        final var savedOther = employeeService.saveEmployee(otherDTO);
+        final var duplicateDTO = objectMapper.convertValue(savedOther, EmployeeDTO.class);
+        duplicateDTO.setEmail(employeeDTO1.getEmail().toUpperCase(Locale.ROOT));
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.updateEmployee(duplicateDTO, null));
+        assertThrows(BadRequestException.class, () -> employeeService.updateEmployees(List.of(duplicateDTO)));
+
+        // Assert
+        assertEquals(otherDTO.getEmail(), employeeRepository.findById(savedOther.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void whenUpdateEmployee_thenExecutesSingleStatement() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        savedEmployee.setFirstName(faker.name().firstName());
+        statistics.clear();
+
+        // Act
+        final var updatedEmployee = employeeService.updateEmployee(savedEmployee, null);
+
+        // Assert
+        assertEquals(savedEmployee.getFirstName(), updatedEmployee.getFirstName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(savedEmployee.getFirstName(),
+                employeeRepository.findById(savedEmployee.getId()).orElseThrow().getFirstName());
+    }
+
+    @Test
+    void whenUpdateEmployeeWithVersion_thenRejectsStaleVersions() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        assertEquals(0L, savedEmployee.getVersion());
+        savedEmployee.setFirstName(faker.name().firstName());
+        statistics.clear();
+
+        // Act
+        final var updatedEmployee = employeeService.updateEmployee(savedEmployee, null);
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1L, updatedEmployee.getVersion());
+        assertEquals(1L, employeeRepository.findById(savedEmployee.getId()).orElseThrow().getVersion());
+        updatedEmployee.setVersion(0L);
+        assertThrows(ConflictException.class, () -> employeeService.updateEmployee(updatedEmployee, null));
+        assertThrows(PreconditionFailedException.class, () -> employeeService.updateEmployee(updatedEmployee, 0L));
+    }
+
+    @Test
+    void whenPatchEmployee_thenIncrementsVersion() throws Exception {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+
+        // Act
+        final var patchedEmployee = employeeService.patchEmployee(savedEmployee.getId(),
+                objectMapper.readTree("{\"active\": false, \"version\": 0}"));
+
+        // Assert
+        assertEquals(1L, patchedEmployee.getVersion());
+        assertEquals(1L, employeeRepository.findById(savedEmployee.getId()).orElseThrow().getVersion());
+        assertThrows(ConflictException.class, () -> employeeService.patchEmployee(savedEmployee.getId(),
+                objectMapper.readTree("{\"active\": true, \"version\": 0}")));
+    }
+
+    @Test
+    void whenDeleteEmployee_thenExecutesSingleStatement() {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        statistics.clear();
+
+        // Act
+        employeeService.deleteEmployee(savedEmployee.getId());
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployee(savedEmployee.getId()));
+    }
+
+    @Test
+    void whenPatchEmployee_thenUpdatesOnlyGivenFieldsAndKeepsCreatedAt() throws Exception {
+        // Arrange
+        final var savedEmployee = employeeService.saveEmployee(employeeDTO1);
+        final var createdAt = employeeRepository.findById(savedEmployee.getId()).orElseThrow().getCreatedAt();
+
+        // Act
+        final var patchedEmployee = employeeService.patchEmployee(savedEmployee.getId(),
+                objectMapper.readTree("{\"active\": false}"));
+
+        // Assert
+        final var actualEmployee = employeeRepository.findById(savedEmployee.getId()).orElseThrow();
+        assertEquals(false, patchedEmployee.isActive());
+        assertEquals(false, actualEmployee.getActive());
+        assertEquals(employeeDTO1.getFirstName(), actualEmployee.getFirstName());
+        assertEquals(createdAt.toInstant(), actualEmployee.getCreatedAt().toInstant());
+        assertNotNull(actualEmployee.getUpdatedAt());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,31 +1,61 @@
 package com.martikan.springtestdemo.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javafaker.Faker;
+import com.martikan.springtestdemo.config.CacheConfig;
 import com.martikan.springtestdemo.domain.Employee;
+import com.martikan.springtestdemo.domain.EmployeeChangeType;
+import com.martikan.springtestdemo.dto.EmployeeBulkResultDTO;
 import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeFilterDTO;
 import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.exception.ConflictException;
+import com.martikan.springtestdemo.exception.PreconditionFailedException;
 import com.martikan.springtestdemo.exception.ResourceNotFoundException;
 import com.martikan.springtestdemo.mapper.EmployeeMapper;
 import com.martikan.springtestdemo.repository.EmployeeRepository;
+import com.martikan.springtestdemo.repository.EmployeeSearchResult;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,6 +73,24 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeMapper mapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private EmployeeChangeService changeService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache employeesCache;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -69,28 +117,187 @@ public class EmployeeServiceTest {
     void whenGetAllEmployees_thenReturnsListOfEmployeeDTOs() {
         // Arrange
         final var pageable = Pageable.ofSize(20);
-        final var employeesList = Collections.singletonList(employee1);
-        final var employeesPage = new PageImpl<>(employeesList);
-        when(employeeRepository.findAll(pageable)).thenReturn(employeesPage);
-        when(mapper.toDTO(any(Employee.class))).thenReturn(employee1DTO);
+        when(employeeRepository.findAllDTOs(ArgumentMatchers.<Specification<Employee>>any(), eq(pageable)))
+                .thenReturn(List.of(employee1DTO));
 
         // Act
-        final var actualEmployeesList = employeeService.getAllEmployees(pageable);
+        final var actualEmployeesList = employeeService.getAllEmployees(new EmployeeFilterDTO(), pageable);
 
         // Assert
         assertEquals(1, actualEmployeesList.size());
-        verify(employeeRepository, times(1)).findAll(any(Pageable.class));
-        verify(mapper, times(1)).toDTO(any(Employee.class));
+        verify(employeeRepository, times(1))
+                .findAllDTOs(ArgumentMatchers.<Specification<Employee>>any(), any(Pageable.class));
+        verify(mapper, never()).toDTO(any(Employee.class));
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenGetAllEmployeesSortedByCreatedAt_thenAddsIdToTheSort() {
+        // Arrange
+        final var pageable = PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+        final var expectedPageable = PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        final var filter = new EmployeeFilterDTO(true, ZonedDateTime.now().minusDays(30), null);
+        when(employeeRepository.findAllDTOs(ArgumentMatchers.<Specification<Employee>>any(), eq(expectedPageable)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        final var actualEmployeesList = employeeService.getAllEmployees(filter, pageable);
+
+        // Assert
+        assertEquals(0, actualEmployeesList.size());
+        verify(employeeRepository, times(1))
+                .findAllDTOs(ArgumentMatchers.<Specification<Employee>>any(), any(Pageable.class));
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenGetAllEmployeesSortedByNotIndexedProperty_thenThrowsBadRequestException() {
+        // Arrange
+        final var pageable = PageRequest.of(0, 20, Sort.by("firstName"));
+
+        // Act
+        assertThrows(BadRequestException.class,
+                () -> employeeService.getAllEmployees(new EmployeeFilterDTO(), pageable));
+
+        // Assert
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenGetAllEmployeesWithEmptyCreationRange_thenThrowsBadRequestException() {
+        // Arrange
+        final var now = ZonedDateTime.now();
+        final var filter = new EmployeeFilterDTO(null, now, now.minusDays(1));
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.getAllEmployees(filter, Pageable.ofSize(20)));
+
+        // Assert
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenGetEmployeesAfterCursorWithMoreElements_thenReturnsPageWithNextCursor() {
+        // Arrange
+        final var employee2DTO = new EmployeeDTO();
+        employee2DTO.setId(2L);
+        when(employeeRepository.findAllDTOsAfterId(0L, PageRequest.ofSize(2)))
+                .thenReturn(List.of(employee1DTO, employee2DTO));
+
+        // Act
+        final var firstPage = employeeService.getEmployeesAfter(null, 1);
+
+        // Assert
+        assertEquals(List.of(employee1DTO), firstPage.getContent());
+        assertNotNull(firstPage.getNextCursor());
+        verify(employeeRepository, times(1)).findAllDTOsAfterId(any(Long.class), any(Pageable.class));
+        verify(mapper, never()).toDTO(any(Employee.class));
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenGetEmployeesAfterLastCursor_thenReturnsPageWithoutNextCursor() {
+        // Arrange
+        final var cursor = "MQ"; // Base64 encoded id 1
+        when(employeeRepository.findAllDTOsAfterId(1L, PageRequest.ofSize(26))).thenReturn(Collections.emptyList());
+
+        // Act
+        final var lastPage = employeeService.getEmployeesAfter(cursor, 25);
+
+        // Assert
+        assertEquals(0, lastPage.getContent().size());
+        assertNull(lastPage.getNextCursor());
+        verify(employeeRepository, times(1)).findAllDTOsAfterId(any(Long.class), any(Pageable.class));
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenGetEmployeesAfterInvalidCursor_thenThrowsBadRequestException() {
+        // Arrange
+        final var cursor = "not-a-cursor";
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeesAfter(cursor, 25));
+
+        // Assert
+        verify(employeeRepository, never()).findAllDTOsAfterId(any(Long.class), any(Pageable.class));
         verifyNoMoreInteractions(employeeRepository, mapper);
     }
 
+    @Test
+    void whenSearchEmployees_thenSearchesByPrefixesAndReturnsPageWithNextCursor() {
+        // Arrange
+        final var result1 = mock(EmployeeSearchResult.class);
+        final var result2 = mock(EmployeeSearchResult.class);
+        when(result1.getRank()).thenReturn(0.5f);
+        when(result1.getId()).thenReturn(employee1.getId());
+        when(employeeRepository.searchEmployees("jo:* & do:*", "Jo Do%", Float.MAX_VALUE, 0L, 2))
+                .thenReturn(List.of(result1, result2));
+        when(mapper.searchResultToDTO(result1)).thenReturn(employee1DTO);
+
+        // Act
+        final var firstPage = employeeService.searchEmployees(" Jo Do ", null, 1);
+
+        // Assert
+        assertEquals(List.of(employee1DTO), firstPage.getContent());
+        assertEquals("MC41OjE", firstPage.getNextCursor()); // Base64 encoded "0.5:1"
+        verify(employeeRepository, times(1)).searchEmployees(anyString(), anyString(), any(Float.class),
+                any(Long.class), anyInt());
+        verify(mapper, times(1)).searchResultToDTO(any(EmployeeSearchResult.class));
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenSearchEmployeesAfterCursor_thenSeeksPastRankAndIdWithEscapedPattern() {
+        // Arrange
+        final var cursor = "MC41OjE"; // Base64 encoded "0.5:1"
+        when(employeeRepository.searchEmployees("50:* & x:*", "50\\%\\_x%", 0.5f, 1L, 11))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        final var lastPage = employeeService.searchEmployees("50%_x", cursor, 10);
+
+        // Assert
+        assertEquals(0, lastPage.getContent().size());
+        assertNull(lastPage.getNextCursor());
+        verify(employeeRepository, times(1)).searchEmployees(anyString(), anyString(), any(Float.class),
+                any(Long.class), anyInt());
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenSearchEmployeesWithTooShortQuery_thenThrowsBadRequestException() {
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.searchEmployees(" j ", null, 10));
+
+        // Assert
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenExportEmployees_thenPassesEveryEmployeeDTOToConsumer() {
+        // Arrange
+        when(employeeRepository.streamAll()).thenReturn(Stream.of(employee1));
+        when(mapper.toDTO(employee1)).thenReturn(employee1DTO);
+        final var exportedEmployees = new ArrayList<EmployeeDTO>();
+
+        // Act
+        employeeService.exportEmployees(exportedEmployees::add);
+
+        // Assert
+        assertEquals(List.of(employee1DTO), exportedEmployees);
+        verify(employeeRepository, times(1)).streamAll();
+        verify(mapper, times(1)).toDTO(any(Employee.class));
+        verify(entityManager, times(1)).detach(employee1);
+        verifyNoMoreInteractions(employeeRepository, mapper, entityManager);
+    }
+
     @DisplayName("Saving employee service call - Happy flow")
     @Test
     void whenSaveEmployee_thenReturnsEmployeeDTO() {
         // Arrange
-        when(employeeRepository.existsEmployeeByEmail(employee1.getEmail())).thenReturn(false);
         when(mapper.toEntity(employee1DTO)).thenReturn(employee1);
-        when(employeeRepository.save(employee1)).thenReturn(employee1);
+        when(employeeRepository.saveAndFlush(employee1)).thenReturn(employee1);
         when(mapper.toDTO(employee1)).thenReturn(employee1DTO);
 
         // Act
@@ -98,54 +305,151 @@ public class EmployeeServiceTest {
 
         // Assert
         assertNotNull(savedEmployee);
-        verify(employeeRepository, times(1)).existsEmployeeByEmail(anyString());
         verify(mapper, times(1)).toEntity(any(EmployeeDTO.class));
-        verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(employeeRepository, times(1)).saveAndFlush(any(Employee.class));
         verify(mapper, times(1)).toDTO(any(Employee.class));
+        verify(changeService, times(1)).recordChanges(EmployeeChangeType.CREATED, List.of(employee1DTO));
         verifyNoMoreInteractions(employeeRepository, mapper);
     }
 
     @Test
     void whenSaveEmployeeWhichAlreadyExists_thenThrowsBadRequestException() {
         // Arrange
-        when(employeeRepository.existsEmployeeByEmail(employee1DTO.getEmail())).thenReturn(true);
+        when(mapper.toEntity(employee1DTO)).thenReturn(employee1);
+        when(employeeRepository.saveAndFlush(employee1)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "employees_email_lower_key")));
 
         // Act
         assertThrows(BadRequestException.class, () -> employeeService.saveEmployee(employee1DTO));
 
         // Assert
-        verify(employeeRepository, times(1)).existsEmployeeByEmail(anyString());
-        verify(employeeRepository, never()).save(any());
+        verify(employeeRepository, times(1)).saveAndFlush(any(Employee.class));
+        verify(mapper, never()).toDTO(any(Employee.class));
+        verify(changeService, never()).recordChanges(any(), any());
+        verifyNoMoreInteractions(employeeRepository);
+    }
+
+    @Test
+    void whenSaveEmployeeViolatesOtherConstraint_thenRethrowsDataIntegrityViolationException() {
+        // Arrange
+        when(mapper.toEntity(employee1DTO)).thenReturn(employee1);
+        when(employeeRepository.saveAndFlush(employee1)).thenThrow(new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException(), null)));
+
+        // Act
+        assertThrows(DataIntegrityViolationException.class, () -> employeeService.saveEmployee(employee1DTO));
+
+        // Assert
+        verify(employeeRepository, times(1)).saveAndFlush(any(Employee.class));
         verifyNoMoreInteractions(employeeRepository);
     }
 
+    @DisplayName("Bulk saving employees service call - Happy flow")
+    @Test
+    void whenSaveEmployees_thenReturnsResultPerEmployee() {
+        // Arrange
+        final var sameEmailDTO = new EmployeeDTO();
+        sameEmailDTO.setId(employee1DTO.getId());
+        sameEmailDTO.setFirstName(employee1DTO.getFirstName());
+        sameEmailDTO.setLastName(employee1DTO.getLastName());
+        sameEmailDTO.setEmail(employee1DTO.getEmail().toUpperCase(Locale.ROOT));
+        when(validator.validate(any(EmployeeDTO.class))).thenReturn(Collections.emptySet());
+        when(employeeRepository.findExistingEmails(Set.of(employee1DTO.getEmail().toLowerCase(Locale.ROOT))))
+                .thenReturn(Collections.emptySet());
+        when(mapper.toEntity(employee1DTO)).thenReturn(employee1);
+        when(employeeRepository.saveAllAndFlush(List.of(employee1))).thenReturn(List.of(employee1));
+        when(mapper.toDTO(employee1)).thenReturn(employee1DTO);
+
+        // Act
+        final var results = employeeService.saveEmployees(List.of(employee1DTO, sameEmailDTO));
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(EmployeeBulkResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(employee1.getId(), results.get(0).getId());
+        assertEquals(EmployeeBulkResultDTO.Status.DUPLICATE, results.get(1).getStatus());
+        verify(employeeRepository, times(1)).findExistingEmails(any());
+        verify(employeeRepository, times(1)).saveAllAndFlush(any());
+        verify(mapper, times(1)).toEntity(any(EmployeeDTO.class));
+        verify(mapper, times(1)).toDTO(employee1);
+        verify(changeService, times(1)).recordChanges(EmployeeChangeType.CREATED, List.of(employee1DTO));
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenSaveEmployeesWhichAlreadyExist_thenReturnsDuplicateResults() {
+        // Arrange
+        when(validator.validate(employee1DTO)).thenReturn(Collections.emptySet());
+        when(employeeRepository.findExistingEmails(Set.of(employee1DTO.getEmail().toLowerCase(Locale.ROOT))))
+                .thenReturn(Set.of(employee1DTO.getEmail().toLowerCase(Locale.ROOT)));
+
+        // Act
+        final var results = employeeService.saveEmployees(List.of(employee1DTO));
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals(EmployeeBulkResultDTO.Status.DUPLICATE, results.get(0).getStatus());
+        verify(employeeRepository, times(1)).findExistingEmails(any());
+        verify(employeeRepository, times(1)).saveAllAndFlush(Collections.emptyList());
+        verify(mapper, never()).toEntity(any(EmployeeDTO.class));
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenSaveEmployeesInsertedConcurrently_thenThrowsBadRequestException() {
+        // Arrange
+        when(validator.validate(employee1DTO)).thenReturn(Collections.emptySet());
+        when(employeeRepository.findExistingEmails(Set.of(employee1DTO.getEmail().toLowerCase(Locale.ROOT))))
+                .thenReturn(Collections.emptySet());
+        when(mapper.toEntity(employee1DTO)).thenReturn(employee1);
+        when(employeeRepository.saveAllAndFlush(List.of(employee1))).thenThrow(new DataIntegrityViolationException(
+                "duplicate", new ConstraintViolationException("duplicate", new SQLException(),
+                        "employees_email_lower_key")));
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.saveEmployees(List.of(employee1DTO)));
+
+        // Assert
+        verify(employeeRepository, times(1)).saveAllAndFlush(any());
+        verify(changeService, never()).recordChanges(any(), any());
+    }
+
+    @Test
+    void whenSaveEmployeesWithEmptyList_thenThrowsBadRequestException() {
+        // Arrange
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.saveEmployees(Collections.emptyList()));
+
+        // Assert
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
     @DisplayName("Get employee by id service call - Happy flow")
     @Test
     void whenGetEmployeeById_thenReturnsEmployeeDTO() {
         // Arrange
-        when(employeeRepository.findById(employee1DTO.getId())).thenReturn(Optional.of(employee1));
-        when(mapper.toDTO(any(Employee.class))).thenReturn(employee1DTO);
+        when(employeeRepository.findDTOById(employee1DTO.getId())).thenReturn(Optional.of(employee1DTO));
 
         // Act
         final var actualEmployeeDTO = employeeService.getEmployeeById(employee1DTO.getId());
 
         // Assert
         assertNotNull(actualEmployeeDTO);
-        verify(employeeRepository, times(1)).findById(any(Long.class));
-        verify(mapper, times(1)).toDTO(any(Employee.class));
+        verify(employeeRepository, times(1)).findDTOById(any(Long.class));
+        verify(mapper, never()).toDTO(any(Employee.class));
         verifyNoMoreInteractions(employeeRepository, mapper);
     }
 
     @Test
     void whenGetEmployeeByIdWhichNotExists_thenThrowsResourceNotFoundException() {
         // Arrange
-        when(employeeRepository.findById(employee1DTO.getId())).thenReturn(Optional.empty());
+        when(employeeRepository.findDTOById(employee1DTO.getId())).thenReturn(Optional.empty());
 
         // Act
         assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(employee1DTO.getId()));
 
         // Assert
-        verify(employeeRepository, times(1)).findById(any(Long.class));
+        verify(employeeRepository, times(1)).findDTOById(any(Long.class));
         verify(mapper, never()).toDTO(any(Employee.class));
         verifyNoMoreInteractions(employeeRepository, mapper);
     }
@@ -154,57 +458,244 @@ public class EmployeeServiceTest {
     @Test
     void whenUpdateEmployee_thenReturnsUpdatedEmployeeDTO() {
         // Arrange
-        when(employeeRepository.findById(employee1DTO.getId())).thenReturn(Optional.of(employee1));
-        when(mapper.toDTO(any(Employee.class))).thenReturn(employee1DTO);
-        when(mapper.toEntity(employee1DTO)).thenReturn(employee1);
         final var updatedEmail = "test";
-        employee1.setEmail(updatedEmail);
         employee1DTO.setEmail(updatedEmail);
-        when(employeeRepository.save(employee1)).thenReturn(employee1);
-        when(mapper.toDTO(employee1)).thenReturn(employee1DTO);
+        when(employeeRepository.updateEmployee(eq(employee1DTO.getId()), eq(employee1DTO.getFirstName()),
+                eq(employee1DTO.getLastName()), eq(updatedEmail), eq(employee1DTO.isActive()), isNull(),
+                any(ZonedDateTime.class))).thenReturn(Optional.of(1L));
 
         // Act
-        final var updatedEmployee = employeeService.updateEmployee(employee1DTO);
+        final var updatedEmployee = employeeService.updateEmployee(employee1DTO, null);
 
         // Assert
         assertNotNull(updatedEmployee);
         assertEquals(updatedEmail, updatedEmployee.getEmail());
-        verify(employeeRepository, times(1)).findById(employee1DTO.getId());
-        verify(mapper, times(1)).toEntity(any(EmployeeDTO.class));
-        verify(mapper, times(2)).toDTO(any(Employee.class));
-        verify(employeeRepository, times(1)).save(any(Employee.class));
+        assertEquals(1L, updatedEmployee.getVersion());
+        assertNotNull(updatedEmployee.getUpdatedAt());
+        verify(employeeRepository, times(1)).updateEmployee(any(), any(), any(), any(), any(), any(), any());
+        verify(employeeRepository, never()).findById(any(Long.class));
+        verify(employeeRepository, never()).save(any());
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenUpdateEmployeeWithTakenEmail_thenThrowsBadRequestException() {
+        // Arrange
+        when(employeeRepository.updateEmployee(any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate",
+                        new ConstraintViolationException("duplicate", new SQLException(), "employees_email_lower_key")));
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.updateEmployee(employee1DTO, null));
+
+        // Assert
+        verify(employeeRepository, times(1)).updateEmployee(any(), any(), any(), any(), any(), any(), any());
         verifyNoMoreInteractions(employeeRepository, mapper);
     }
 
+    @Test
+    void whenUpdateEmployees_thenEvictsOnlyUpdatedEmployees() {
+        // Arrange
+        final var missingDTO = new EmployeeDTO();
+        missingDTO.setId(2L);
+        when(employeeRepository.updateEmployees(eq(List.of(employee1DTO, missingDTO)), any(ZonedDateTime.class)))
+                .thenReturn(List.of(employee1DTO.getId()));
+        when(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE)).thenReturn(employeesCache);
+
+        // Act
+        final var updatedIds = employeeService.updateEmployees(List.of(employee1DTO, missingDTO));
+
+        // Assert
+        assertEquals(List.of(employee1DTO.getId()), updatedIds);
+        verify(employeesCache, times(1)).evict(employee1DTO.getId());
+        verifyNoMoreInteractions(employeesCache);
+    }
+
+    @Test
+    void whenUpdateEmployeesWithTakenEmail_thenThrowsBadRequestException() {
+        // Arrange
+        when(employeeRepository.updateEmployees(anyList(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate",
+                        new ConstraintViolationException("duplicate", new SQLException(), "employees_email_lower_key")));
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.updateEmployees(List.of(employee1DTO)));
+
+        // Assert
+        verify(employeeRepository, times(1)).updateEmployees(anyList(), any());
+        verifyNoMoreInteractions(employeeRepository, mapper, cacheManager);
+    }
+
     @Test
     void whenUpdateEmployeeWhichNotExists_thenThrowsResourceNotFoundException() {
         // Arrange
-        when(employeeRepository.findById(employee1DTO.getId())).thenReturn(Optional.empty());
+        when(employeeRepository.updateEmployee(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
 
         // Act
-        assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(employee1DTO));
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(employee1DTO, null));
 
         // Assert
-        verify(employeeRepository, times(1)).findById(any(Long.class));
+        verify(employeeRepository, times(1)).updateEmployee(any(), any(), any(), any(), any(), any(), any());
         verify(mapper, never()).toDTO(any(Employee.class));
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenUpdateEmployeeWithVersion_thenUpdatesOnlyThatVersion() {
+        // Arrange
+        employee1DTO.setVersion(3L);
+        when(employeeRepository.updateEmployee(eq(employee1DTO.getId()), any(), any(), any(), any(), eq(3L),
+                any(ZonedDateTime.class))).thenReturn(Optional.of(4L));
+
+        // Act
+        final var updatedEmployee = employeeService.updateEmployee(employee1DTO, null);
+
+        // Assert
+        assertEquals(4L, updatedEmployee.getVersion());
+        verify(employeeRepository, never()).existsById(any());
+    }
+
+    @Test
+    void whenUpdateEmployeeWithStaleVersion_thenThrowsConflictException() {
+        // Arrange
+        employee1DTO.setVersion(3L);
+        when(employeeRepository.updateEmployee(any(), any(), any(), any(), any(), eq(3L), any()))
+                .thenReturn(Optional.empty());
+        when(employeeRepository.existsById(employee1DTO.getId())).thenReturn(true);
+
+        // Act
+        assertThrows(ConflictException.class, () -> employeeService.updateEmployee(employee1DTO, null));
+
+        // Assert
+        verify(employeeRepository, times(1)).existsById(employee1DTO.getId());
+    }
+
+    @Test
+    void whenUpdateEmployeeWithStaleIfMatch_thenThrowsPreconditionFailedException() {
+        // Arrange
+        employee1DTO.setVersion(5L);
+        when(employeeRepository.updateEmployee(any(), any(), any(), any(), any(), eq(3L), any()))
+                .thenReturn(Optional.empty());
+        when(employeeRepository.existsById(employee1DTO.getId())).thenReturn(true);
+
+        // Act
+        assertThrows(PreconditionFailedException.class, () -> employeeService.updateEmployee(employee1DTO, 3L));
+
+        // Assert
+        verify(employeeRepository, times(1)).existsById(employee1DTO.getId());
+    }
+
+    @Test
+    void whenUpdateEmployeeWithVersionWhichNotExists_thenThrowsResourceNotFoundException() {
+        // Arrange
+        when(employeeRepository.updateEmployee(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(employeeRepository.existsById(employee1DTO.getId())).thenReturn(false);
+
+        // Act
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(employee1DTO, 3L));
+
+        // Assert
+        verify(employeeRepository, times(1)).existsById(employee1DTO.getId());
+    }
+
+    @DisplayName("Patch employee service call - Happy flow")
+    @Test
+    void whenPatchEmployee_thenReturnsPatchedEmployeeDTO() throws Exception {
+        // Arrange
+        final var patch = objectMapper.readTree("{\"firstName\": \"Patched\", \"id\": 999}");
+        when(employeeRepository.findById(employee1.getId())).thenReturn(Optional.of(employee1));
+        when(mapper.toDTO(employee1)).thenReturn(employee1DTO);
+
+        // Act
+        final var patchedEmployee = employeeService.patchEmployee(employee1.getId(), patch);
+
+        // Assert
+        assertEquals("Patched", patchedEmployee.getFirstName());
+        assertEquals(employee1.getId(), patchedEmployee.getId());
+        assertEquals(employee1.getLastName(), patchedEmployee.getLastName());
+        verify(employeeRepository, times(1)).findById(employee1.getId());
+        verify(mapper, times(1)).updateEntity(patchedEmployee, employee1);
+        verify(employeeRepository, times(1)).flush();
+        verify(changeService, times(1)).recordChanges(EmployeeChangeType.UPDATED, List.of(patchedEmployee));
         verify(employeeRepository, never()).save(any());
         verifyNoMoreInteractions(employeeRepository, mapper);
     }
 
+    @Test
+    void whenPatchEmployeeWithStaleVersion_thenThrowsConflictException() throws Exception {
+        // Arrange
+        final var patch = objectMapper.readTree("{\"active\": false, \"version\": 1}");
+        employee1.setVersion(2L);
+        when(employeeRepository.findById(employee1.getId())).thenReturn(Optional.of(employee1));
+        when(mapper.toDTO(employee1)).thenReturn(employee1DTO);
+
+        // Act
+        assertThrows(ConflictException.class, () -> employeeService.patchEmployee(employee1.getId(), patch));
+
+        // Assert
+        verify(mapper, never()).updateEntity(any(), any());
+        verify(employeeRepository, never()).flush();
+    }
+
+    @Test
+    void whenPatchEmployeeWhichNotExists_thenThrowsResourceNotFoundException() throws Exception {
+        // Arrange
+        final var patch = objectMapper.readTree("{\"active\": false}");
+        when(employeeRepository.findById(employee1.getId())).thenReturn(Optional.empty());
+
+        // Act
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.patchEmployee(employee1.getId(), patch));
+
+        // Assert
+        verify(mapper, never()).updateEntity(any(), any());
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenPatchEmployeeWithNonObjectPatch_thenThrowsBadRequestException() throws Exception {
+        // Arrange
+        final var patch = objectMapper.readTree("[]");
+
+        // Act
+        assertThrows(BadRequestException.class, () -> employeeService.patchEmployee(employee1.getId(), patch));
+
+        // Assert
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
+    @Test
+    void whenUpdateEmployeesActive_thenReturnsNumberOfUpdatedEmployees() {
+        // Arrange
+        final var ids = List.of(1L, 2L);
+        when(employeeRepository.updateActiveByIds(eq(ids), eq(false), any(ZonedDateTime.class))).thenReturn(2);
+        when(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE)).thenReturn(employeesCache);
+
+        // Act
+        final var updatedRows = employeeService.updateEmployeesActive(ids, false);
+
+        // Assert
+        assertEquals(2, updatedRows);
+        verify(employeeRepository, times(1)).updateActiveByIds(any(), any(), any());
+        verify(employeesCache, times(1)).evict(1L);
+        verify(employeesCache, times(1)).evict(2L);
+        verifyNoMoreInteractions(employeesCache);
+        verifyNoMoreInteractions(employeeRepository, mapper);
+    }
+
     @DisplayName("Delete employee by id service call - Happy flow")
     @Test
     void whenDeleteEmployeeById_thenNothing() {
         // Arrange
         final var employeeId = 1L;
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee1));
-        when(mapper.toDTO(any(Employee.class))).thenReturn(employee1DTO);
-        doNothing().when(employeeRepository).deleteById(employeeId);
+        when(employeeRepository.deleteEmployeeById(employeeId)).thenReturn(1);
 
         // Act
         employeeService.deleteEmployee(employeeId);
 
         // Assert
-        verify(employeeRepository, times(1)).deleteById(employeeId);
+        verify(employeeRepository, times(1)).deleteEmployeeById(employeeId);
         verifyNoMoreInteractions(employeeRepository);
     }
 
@@ -212,14 +703,13 @@ public class EmployeeServiceTest {
     void whenDeleteEmployeeByIdAndEmployeeNotFound_thenThrowsResourceNotFoundException() {
         // Arrange
         final var employeeId = 1L;
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.empty());
+        when(employeeRepository.deleteEmployeeById(employeeId)).thenReturn(0);
 
         // Act
         assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployee(employeeId));
 
         // Assert
-        verify(employeeRepository, times(1)).findById(employeeId);
-        verify(employeeRepository, never()).deleteById(employeeId);
+        verify(employeeRepository, times(1)).deleteEmployeeById(employeeId);
         verifyNoMoreInteractions(employeeRepository);
     }
 
@@ -0,0 +1,170 @@
+package com.martikan.springtestdemo.service;
+
+import com.martikan.springtestdemo.config.EmployeeUpdateJobProperties;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.dto.EmployeeUpdateJobDTO;
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.exception.ResourceNotFoundException;
+import com.martikan.springtestdemo.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeUpdateJobServiceTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EmployeeUpdateJobServiceImpl updateJobService;
+
+    @BeforeEach
+    void setup() {
+        final var properties = new EmployeeUpdateJobProperties();
+        properties.setBatchSize(2);
+        properties.setMaxJobSize(10);
+        properties.setMaxPendingUpdates(3);
+        meterRegistry = new SimpleMeterRegistry();
+        updateJobService = new EmployeeUpdateJobServiceImpl(employeeService,
+                Validation.buildDefaultValidatorFactory().getValidator(), properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        updateJobService.shutdown();
+    }
+
+    @Test
+    void whenSubmitUpdates_thenAppliesCoalescedUpdatesInBatches() throws Exception {
+        // Arrange
+        final var update1 = employee(3L, "first");
+        final var update2 = employee(1L, "first");
+        final var update3 = employee(3L, "second");
+        final var update4 = employee(2L, "first");
+        final var invalidUpdate = employee(null, "first");
+        when(employeeService.updateEmployees(anyList())).thenAnswer(invocation ->
+                invocation.<List<EmployeeDTO>>getArgument(0).stream().map(EmployeeDTO::getId).toList());
+
+        // Act
+        final var job = updateJobService.submitUpdates(List.of(update1, update2, update3, update4, invalidUpdate));
+        final var finishedJob = awaitFinished(job.getId());
+
+        // Assert
+        assertEquals(EmployeeUpdateJobDTO.Status.COMPLETED, finishedJob.getStatus());
+        assertEquals(5, finishedJob.getSubmitted());
+        assertEquals(1, finishedJob.getCoalesced());
+        assertEquals(3, finishedJob.getApplied());
+        assertEquals(1, finishedJob.getRejected());
+        assertEquals(4, finishedJob.getRejections().get(0).getIndex());
+        verify(employeeService).updateEmployees(List.of(update2, update4));
+        verify(employeeService).updateEmployees(List.of(update3));
+        assertEquals(3.0, meterRegistry.get("employee.update.jobs.updates").tag("outcome", "applied")
+                .counter().count());
+        assertEquals(2, meterRegistry.get("employee.update.jobs.batch").timer().count());
+    }
+
+    @Test
+    void whenBatchViolatesUniqueEmail_thenAppliesItsUpdatesOneByOne() throws Exception {
+        // Arrange
+        final var update1 = employee(1L, "first");
+        final var update2 = employee(2L, "first");
+        when(employeeService.updateEmployees(anyList())).thenAnswer(invocation -> {
+            final List<EmployeeDTO> dtos = invocation.getArgument(0);
+            if (dtos.size() > 1 || dtos.get(0).getId() == 2L) {
+                throw new BadRequestException("Employee already exist with the given email");
+            }
+            return List.of(dtos.get(0).getId());
+        });
+
+        // Act
+        final var job = updateJobService.submitUpdates(List.of(update1, update2));
+        final var finishedJob = awaitFinished(job.getId());
+
+        // Assert
+        assertEquals(EmployeeUpdateJobDTO.Status.COMPLETED, finishedJob.getStatus());
+        assertEquals(1, finishedJob.getApplied());
+        assertEquals(1, finishedJob.getRejected());
+        assertEquals(2L, finishedJob.getRejections().get(0).getId());
+        assertEquals("Employee already exist with the given email", finishedJob.getRejections().get(0).getMessage());
+    }
+
+    @Test
+    void whenSubmitTooManyUpdates_thenThrowsBadRequestException() {
+        // Arrange
+        final var updates = Collections.nCopies(11, employee(1L, "first"));
+
+        // Act
+        assertThrows(BadRequestException.class, () -> updateJobService.submitUpdates(updates));
+
+        // Assert
+        verify(employeeService, never()).updateEmployees(anyList());
+    }
+
+    @Test
+    void whenSubmitUpdatesOverPendingLimit_thenThrowsServiceUnavailableException() throws Exception {
+        // Arrange
+        final var release = new CountDownLatch(1);
+        when(employeeService.updateEmployees(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return invocation.<List<EmployeeDTO>>getArgument(0).stream().map(EmployeeDTO::getId).toList();
+        });
+        final var runningJob = updateJobService.submitUpdates(List.of(employee(1L, "first"), employee(2L, "first")));
+        final var updates = List.of(employee(3L, "first"), employee(4L, "first"));
+
+        // Act
+        final var exception = assertThrows(ServiceUnavailableException.class,
+                () -> updateJobService.submitUpdates(updates));
+
+        // Assert
+        assertEquals("Too many updates are pending, retry later", exception.getMessage());
+        release.countDown();
+        assertEquals(2, awaitFinished(runningJob.getId()).getApplied());
+        final var acceptedJob = updateJobService.submitUpdates(updates);
+        assertEquals(2, awaitFinished(acceptedJob.getId()).getApplied());
+    }
+
+    @Test
+    void whenGetJobWhenIdNotExists_thenThrowsResourceNotFoundException() {
+        // Arrange
+        final var jobId = "unknown";
+
+        // Act
+        final var exception = assertThrows(ResourceNotFoundException.class, () -> updateJobService.getJob(jobId));
+
+        // Assert
+        assertEquals("Update job not found with the given ID", exception.getMessage());
+    }
+
+    private static EmployeeDTO employee(final Long id, final String firstName) {
+        return new EmployeeDTO(id, firstName, "Doe", "john.doe" + id + "@gmail.com", true, null, null);
+    }
+
+    private EmployeeUpdateJobDTO awaitFinished(final String id) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            final var job = updateJobService.getJob(id);
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Update job " + id + " has not finished in time");
+    }
+}
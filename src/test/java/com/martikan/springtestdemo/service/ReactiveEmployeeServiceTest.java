@@ -0,0 +1,167 @@
+package com.martikan.springtestdemo.service;
+
+import com.github.javafaker.Faker;
+import com.martikan.springtestdemo.domain.ReactiveEmployee;
+import com.martikan.springtestdemo.dto.EmployeeDTO;
+import com.martikan.springtestdemo.exception.BadRequestException;
+import com.martikan.springtestdemo.exception.ConflictException;
+import com.martikan.springtestdemo.exception.ResourceNotFoundException;
+import com.martikan.springtestdemo.mapper.ReactiveEmployeeMapper;
+import com.martikan.springtestdemo.repository.ReactiveEmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveEmployeeServiceTest {
+
+    private final Faker faker = new Faker();
+
+    @Mock
+    private ReactiveEmployeeRepository employeeRepository;
+
+    @Mock
+    private ReactiveEmployeeMapper mapper;
+
+    @InjectMocks
+    private ReactiveEmployeeServiceImpl employeeService;
+
+    private ReactiveEmployee employee1;
+
+    private EmployeeDTO employee1DTO;
+
+    @BeforeEach
+    void setup() {
+        employee1 = new ReactiveEmployee();
+        employee1.setId(1L);
+        employee1.setFirstName(faker.name().firstName());
+        employee1.setLastName(faker.name().lastName());
+        employee1.setEmail(employee1.getLastName() + "@gmail.com");
+
+        employee1DTO = new EmployeeDTO();
+        employee1DTO.setId(employee1.getId());
+        employee1DTO.setFirstName(employee1.getFirstName());
+        employee1DTO.setLastName(employee1.getLastName());
+        employee1DTO.setEmail(employee1.getEmail());
+    }
+
+    @Test
+    void whenGetAllEmployees_thenEmitsEmployeeDTOs() {
+        // Arrange
+        final var pageable = PageRequest.ofSize(20);
+        when(employeeRepository.findAllBy(pageable)).thenReturn(Flux.just(employee1));
+        when(mapper.toDTO(employee1)).thenReturn(employee1DTO);
+
+        // Act
+        final var employees = employeeService.getAllEmployees(pageable);
+
+        // Assert
+        StepVerifier.create(employees)
+                .expectNext(employee1DTO)
+                .verifyComplete();
+    }
+
+    @Test
+    void whenGetEmployeeByIdWhichNotExists_thenEmitsResourceNotFoundException() {
+        // Arrange
+        when(employeeRepository.findById(employee1.getId())).thenReturn(Mono.empty());
+
+        // Act
+        final var employee = employeeService.getEmployeeById(employee1.getId());
+
+        // Assert
+        StepVerifier.create(employee)
+                .verifyError(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void whenSaveEmployeeWhichAlreadyExists_thenEmitsBadRequestException() {
+        // Arrange
+        when(employeeRepository.insertEmployee(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.error(new DataIntegrityViolationException("employees_email_lower_key")));
+
+        // Act
+        final var savedEmployee = employeeService.saveEmployee(employee1DTO);
+
+        // Assert
+        StepVerifier.create(savedEmployee)
+                .verifyError(BadRequestException.class);
+        verify(mapper, never()).toDTO(any());
+    }
+
+    @Test
+    void whenSaveEmployee_thenInsertsItWithTimestamps() {
+        // Arrange
+        when(employeeRepository.insertEmployee(eq(employee1DTO.getFirstName()), eq(employee1DTO.getLastName()),
+                eq(employee1DTO.getEmail()), eq(employee1DTO.isActive()), notNull(), notNull()))
+                .thenReturn(Mono.just(employee1));
+        when(mapper.toDTO(employee1)).thenReturn(employee1DTO);
+
+        // Act
+        final var savedEmployee = employeeService.saveEmployee(employee1DTO);
+
+        // Assert
+        StepVerifier.create(savedEmployee)
+                .expectNext(employee1DTO)
+                .verifyComplete();
+    }
+
+    @Test
+    void whenUpdateEmployeeWhichNotExists_thenEmitsResourceNotFoundException() {
+        // Arrange
+        when(employeeRepository.updateEmployee(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.empty());
+
+        // Act
+        final var updatedEmployee = employeeService.updateEmployee(employee1DTO);
+
+        // Assert
+        StepVerifier.create(updatedEmployee)
+                .verifyError(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void whenUpdateEmployeeWithStaleVersion_thenEmitsConflictException() {
+        // Arrange
+        employee1DTO.setVersion(1L);
+        when(employeeRepository.updateEmployee(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.empty());
+        when(employeeRepository.existsById(employee1DTO.getId())).thenReturn(Mono.just(true));
+
+        // Act
+        final var updatedEmployee = employeeService.updateEmployee(employee1DTO);
+
+        // Assert
+        StepVerifier.create(updatedEmployee)
+                .verifyError(ConflictException.class);
+    }
+
+    @Test
+    void whenDeleteEmployeeById_thenCompletes() {
+        // Arrange
+        when(employeeRepository.deleteEmployeeById(employee1.getId())).thenReturn(Mono.just(1));
+
+        // Act
+        final var deletion = employeeService.deleteEmployee(employee1.getId());
+
+        // Assert
+        StepVerifier.create(deletion)
+                .verifyComplete();
+    }
+
+}